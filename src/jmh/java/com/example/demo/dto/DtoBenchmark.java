@@ -0,0 +1,94 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of building TaskDTO/UserDTO from entities and of serializing task lists the way
+// the REST controllers do, per list size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoBenchmark {
+
+	@Param({"10", "100", "1000"})
+	private int tasks;
+
+	private User user;
+	private List<Task> taskList;
+	private List<TaskDTO> taskDTOs;
+	private ObjectMapper objectMapper;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Same modules and features as the ObjectMapper Spring Boot configures
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		user = new User("bench_user", "bench_user@example.com", "Bench User");
+		user.setId(1L);
+		TaskPriority[] priorities = TaskPriority.values();
+		TaskStatus[] statuses = TaskStatus.values();
+		taskList = new ArrayList<>(tasks);
+		for (int i = 0; i < tasks; i++) {
+			Task task = new Task("Benchmark task " + i, "A description long enough to look like real input " + i,
+					priorities[i % priorities.length], user);
+			task.setId((long) i + 1);
+			task.setStatus(statuses[i % statuses.length]);
+			task.setDueDate(LocalDateTime.now().plusDays(i % 30 - 15));
+			task.setUpdatedAt(LocalDateTime.now());
+			taskList.add(task);
+		}
+		user.setTasks(taskList);
+		taskDTOs = taskList.stream().map(TaskDTO::new).toList();
+	}
+
+	@Benchmark
+	public List<TaskDTO> taskDTOConstruction() {
+		List<TaskDTO> dtos = new ArrayList<>(taskList.size());
+		for (Task task : taskList) {
+			dtos.add(new TaskDTO(task));
+		}
+		return dtos;
+	}
+
+	// Count obtained elsewhere, as the user listing does
+	@Benchmark
+	public UserDTO userDTOWithCount() {
+		return new UserDTO(user, taskList.size());
+	}
+
+	@Benchmark
+	public byte[] serializeTaskDTOs() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(taskDTOs);
+	}
+
+	// Entity lists are returned as-is by the due-between endpoint
+	@Benchmark
+	public byte[] serializeTaskEntities() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(taskList);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.example.demo.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Task.isOverdue() over a mix of due dates and statuses; it reads the clock on every call
+// and runs once per row when the task lists render
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskOverdueBenchmark {
+
+	private static final int TASKS = 1024;
+
+	private final Task[] tasks = new Task[TASKS];
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		TaskStatus[] statuses = TaskStatus.values();
+		for (int i = 0; i < TASKS; i++) {
+			Task task = new Task("Task " + i, null, TaskPriority.MEDIUM, null);
+			task.setStatus(statuses[random.nextInt(statuses.length)]);
+			// A quarter without a due date, the rest spread around now
+			if (random.nextInt(4) != 0) {
+				task.setDueDate(LocalDateTime.now().plusHours(random.nextInt(240) - 120));
+			}
+			tasks[i] = task;
+		}
+	}
+
+	@Benchmark
+	public boolean isOverdue() {
+		Task task = tasks[next++ & (TASKS - 1)];
+		return task.isOverdue();
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.example.demo.service;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// TaskService reads against an embedded H2 database seeded with 10k tasks, through the
+// full Spring context so second-level, query and read caches behave as in the application
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+	private static final int USERS = 200;
+	private static final int TASKS_PER_USER = 50;
+	private static final String[] WORDS = {"report", "review", "deploy", "invoice", "meeting", "backup", "audit", "release"};
+
+	private ConfigurableApplicationContext context;
+	private TaskService taskService;
+	private List<Long> userIds;
+	private List<Long> taskIds;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DemoApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+				.run();
+		taskService = context.getBean(TaskService.class);
+
+		Random random = new Random(42);
+		TaskStatus[] statuses = TaskStatus.values();
+		TaskPriority[] priorities = TaskPriority.values();
+		List<User> users = new ArrayList<>(USERS);
+		for (int u = 0; u < USERS; u++) {
+			users.add(new User("bench_user_" + u, "bench_user_" + u + "@example.com", "Bench User " + u));
+		}
+		users = context.getBean(UserRepository.class).saveAll(users);
+		List<Task> tasks = new ArrayList<>(USERS * TASKS_PER_USER);
+		for (User user : users) {
+			for (int t = 0; t < TASKS_PER_USER; t++) {
+				String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + t;
+				Task task = new Task(title, "Seeded for TaskServiceBenchmark", priorities[random.nextInt(priorities.length)], user);
+				task.setStatus(statuses[random.nextInt(statuses.length)]);
+				task.setDueDate(LocalDateTime.now().plusDays(random.nextInt(60) - 30));
+				tasks.add(task);
+			}
+		}
+		tasks = context.getBean(TaskRepository.class).saveAll(tasks);
+		context.getBean(DerivedStateRebuilder.class).rebuildDerivedState();
+
+		userIds = users.stream().map(User::getId).toList();
+		taskIds = tasks.stream().map(Task::getId).toList();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<Task> findById() {
+		return taskService.findById(randomTaskId());
+	}
+
+	@Benchmark
+	public List<TaskDTO> findDTOsByUser() {
+		return taskService.findDTOsByUser(randomUserId());
+	}
+
+	// Filtered, sorted page as the task list page requests it
+	@Benchmark
+	public Page<Task> findTasks() {
+		return taskService.findTasks(randomUserId(), TaskStatus.PENDING, null, null, null, 0, 20,
+				Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id")));
+	}
+
+	@Benchmark
+	public List<TaskDTO> findPage() {
+		return taskService.findPage(randomTaskId(), 100);
+	}
+
+	// Served from the task read cache after the first call
+	@Benchmark
+	public List<TaskDTO> findDTOsByStatus() {
+		return taskService.findDTOsByStatus(TaskStatus.PENDING);
+	}
+
+	@Benchmark
+	public TaskService.TaskStatistics getTaskStatisticsForUser() {
+		return taskService.getTaskStatisticsForUser(randomUserId());
+	}
+
+	@Benchmark
+	public Page<TaskDTO> search() {
+		return taskService.search(WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)], 0, 20);
+	}
+
+	private Long randomUserId() {
+		return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+	}
+
+	private Long randomTaskId() {
+		return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+	}
+
+}
@@ -0,0 +1,255 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Closed-loop HTTP load driver for the REST API: a fixed number of virtual-thread clients
+// each send one request at a time, chosen by weight from the scenarios below, and latency
+// percentiles are reported per scenario. Runs against an already started application:
+//
+//   ./gradlew bootRun --args='--spring.profiles.active=generate'
+//   ./gradlew loadTest --args='--concurrency 200 --duration 60 --scenario mixed'
+public class LoadDriver {
+
+	private static final String[] WORDS = {"report", "review", "deploy", "invoice", "meeting", "backup", "audit", "release"};
+	private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+
+	private record Scenario(String name, int weight, Function<Context, HttpRequest.Builder> request) {
+	}
+
+	// Ids discovered before the run, shared read-only by all clients
+	private record Context(URI base, List<Long> userIds, List<Long> taskIds, Random random) {
+
+		long userId() {
+			return userIds.get(random.nextInt(userIds.size()));
+		}
+
+		long taskId() {
+			return taskIds.get(random.nextInt(taskIds.size()));
+		}
+
+		String word() {
+			return WORDS[random.nextInt(WORDS.length)];
+		}
+
+		HttpRequest.Builder get(String path) {
+			return HttpRequest.newBuilder(base.resolve(path)).GET();
+		}
+	}
+
+	private static final List<Scenario> SCENARIOS = List.of(
+			new Scenario("task-by-id", 25, c -> c.get("/api/tasks/" + c.taskId())),
+			new Scenario("tasks-by-user", 20, c -> c.get("/api/tasks/user/" + c.userId())),
+			new Scenario("tasks-page", 10, c -> c.get("/api/tasks?after=" + c.taskId() + "&limit=100")),
+			new Scenario("tasks-by-status", 10, c -> c.get("/api/tasks/status/" + STATUSES[c.random().nextInt(STATUSES.length)])),
+			new Scenario("task-search", 10, c -> c.get("/api/tasks/search?q=" + c.word() + "&size=20")),
+			new Scenario("task-statistics", 5, c -> c.get("/api/tasks/user/" + c.userId() + "/statistics")),
+			new Scenario("user-by-id", 10, c -> c.get("/api/users/" + c.userId())),
+			new Scenario("users", 5, c -> c.get("/api/users")),
+			new Scenario("create-task", 5, c -> HttpRequest.newBuilder(c.base().resolve("/api/tasks/user/" + c.userId()
+					+ "?title=" + URLEncoder.encode("Load " + c.word(), StandardCharsets.UTF_8) + "&priority=LOW"))
+					.POST(HttpRequest.BodyPublishers.noBody())));
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		URI base = URI.create(options.getOrDefault("base-url", "http://localhost:8080"));
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+		Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+		List<Scenario> scenarios = select(options.getOrDefault("scenario", "mixed"));
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+			 HttpClient http = HttpClient.newBuilder()
+					 .version(HttpClient.Version.HTTP_1_1)
+					 .executor(executor)
+					 .connectTimeout(Duration.ofSeconds(10))
+					 .build()) {
+			List<Long> userIds = discoverIds(http, base, "/api/users", 10_000);
+			List<Long> taskIds = discoverIds(http, base, "/api/tasks?limit=1000", 50_000);
+			if (userIds.isEmpty() || taskIds.isEmpty()) {
+				throw new IllegalStateException("No users or tasks at " + base + "; start the app with the generate profile");
+			}
+			System.out.printf("%s: %d users, %d tasks sampled; %d clients, %ds warmup, %ds measured%n",
+					base, userIds.size(), taskIds.size(), concurrency, warmup.toSeconds(), duration.toSeconds());
+
+			run(executor, http, base, userIds, taskIds, scenarios, concurrency, warmup, seed);
+			Map<String, Recorder> results = run(executor, http, base, userIds, taskIds, scenarios, concurrency, duration, seed + 1);
+			report(results, duration);
+		}
+	}
+
+	private static Map<String, Recorder> run(ExecutorService executor, HttpClient http, URI base,
+			List<Long> userIds, List<Long> taskIds, List<Scenario> scenarios,
+			int concurrency, Duration duration, long seed) throws Exception {
+		long until = System.nanoTime() + duration.toNanos();
+		int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+		List<Callable<Map<String, Recorder>>> clients = new ArrayList<>(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			Context context = new Context(base, userIds, taskIds, new Random(seed * 31 + i));
+			clients.add(() -> client(http, context, scenarios, totalWeight, until));
+		}
+
+		Map<String, Recorder> merged = new LinkedHashMap<>();
+		scenarios.forEach(scenario -> merged.put(scenario.name(), new Recorder()));
+		for (Future<Map<String, Recorder>> result : executor.invokeAll(clients)) {
+			result.get().forEach((name, recorder) -> merged.get(name).addAll(recorder));
+		}
+		return merged;
+	}
+
+	private static Map<String, Recorder> client(HttpClient http, Context context, List<Scenario> scenarios,
+			int totalWeight, long until) {
+		Map<String, Recorder> recorders = new LinkedHashMap<>();
+		scenarios.forEach(scenario -> recorders.put(scenario.name(), new Recorder()));
+		while (System.nanoTime() < until) {
+			Scenario scenario = pick(scenarios, totalWeight, context.random());
+			HttpRequest request = scenario.request().apply(context).timeout(Duration.ofSeconds(30)).build();
+			Recorder recorder = recorders.get(scenario.name());
+			long start = System.nanoTime();
+			try {
+				HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+				recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+			} catch (IOException e) {
+				recorder.record(System.nanoTime() - start, false);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return recorders;
+	}
+
+	private static void report(Map<String, Recorder> results, Duration duration) {
+		System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+				"scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		Recorder total = new Recorder();
+		results.forEach((name, recorder) -> {
+			print(name, recorder, duration);
+			total.addAll(recorder);
+		});
+		print("total", total, duration);
+	}
+
+	private static void print(String name, Recorder recorder, Duration duration) {
+		long[] sorted = recorder.sorted();
+		if (sorted.length == 0) {
+			return;
+		}
+		System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length, recorder.errors,
+				sorted.length / (double) duration.toSeconds(),
+				percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+				sorted[sorted.length - 1] / 1e6);
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	private static Scenario pick(List<Scenario> scenarios, int totalWeight, Random random) {
+		int draw = random.nextInt(totalWeight);
+		for (Scenario scenario : scenarios) {
+			draw -= scenario.weight();
+			if (draw < 0) {
+				return scenario;
+			}
+		}
+		return scenarios.get(scenarios.size() - 1);
+	}
+
+	// Follow keyset pages (?after=) up to max ids; the user listing is a single page
+	private static List<Long> discoverIds(HttpClient http, URI base, String path, int max) throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<Long> ids = new ArrayList<>();
+		String next = path;
+		while (next != null && ids.size() < max) {
+			HttpResponse<String> response = http.send(HttpRequest.newBuilder(base.resolve(next)).build(),
+					HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("GET " + next + " returned " + response.statusCode());
+			}
+			JsonNode page = objectMapper.readTree(response.body());
+			page.forEach(item -> ids.add(item.get("id").asLong()));
+			next = path.contains("limit=") && !page.isEmpty()
+					? path + "&after=" + ids.get(ids.size() - 1)
+					: null;
+		}
+		return ids;
+	}
+
+	private static List<Scenario> select(String name) {
+		if (name.equals("mixed")) {
+			return SCENARIOS;
+		}
+		return SCENARIOS.stream()
+				.filter(scenario -> scenario.name().equals(name))
+				.findFirst()
+				.map(List::of)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name + "; use mixed or one of "
+						+ SCENARIOS.stream().map(Scenario::name).toList()));
+	}
+
+	// --name value pairs
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+			}
+			options.put(args[i].substring(2), args[i + 1]);
+		}
+		return options;
+	}
+
+	// Latencies in nanos for one scenario, plus the number of failed requests
+	private static class Recorder {
+		private long[] latencies = new long[1024];
+		private int count;
+		private long errors;
+
+		void record(long nanos, boolean success) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		void addAll(Recorder other) {
+			for (int i = 0; i < other.count; i++) {
+				record(other.latencies[i], true);
+			}
+			errors += other.errors;
+		}
+
+		long[] sorted() {
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// Bounded Caffeine caches for the TaskService DTO list reads; entries are evicted
+// by TaskCacheEvictor when a change touches them
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String TASK_DTOS_BY_STATUS = "taskDTOsByStatus";
+    public static final String TASK_DTOS_BY_PRIORITY = "taskDTOsByPriority";
+    public static final String OVERDUE_TASK_DTOS = "overdueTaskDTOs";
+    public static final String HIGH_PRIORITY_TASK_DTOS_BY_USER = "highPriorityTaskDTOsByUser";
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.task-lists.spec}") String taskListsSpec,
+                                     @Value("${app.cache.user-task-lists.spec}") String userTaskListsSpec,
+                                     @Value("${app.cache.overdue-tasks.spec}") String overdueTasksSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; an unknown cache name fails instead of growing unbounded
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        for (String name : List.of(TASK_DTOS_BY_STATUS, TASK_DTOS_BY_PRIORITY)) {
+            cacheManager.registerCustomCache(name, Caffeine.from(taskListsSpec).build());
+        }
+        cacheManager.registerCustomCache(HIGH_PRIORITY_TASK_DTOS_BY_USER, Caffeine.from(userTaskListsSpec).build());
+        cacheManager.registerCustomCache(OVERDUE_TASK_DTOS, Caffeine.from(overdueTasksSpec).build());
+        return cacheManager;
+    }
+}
@@ -7,11 +7,14 @@ import com.example.demo.service.TaskService;
 import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
+// Sample data for development; the "generate" profile loads a synthetic data set instead
 @Component
+@Profile("!generate")
 public class DataInitializer implements CommandLineRunner {
     
     private final UserService userService;
@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Metrics wiring that properties alone cannot do; the meters themselves and their
+// histograms are configured under management.metrics in application.properties
+@Configuration
+public class MetricsConfig {
+    
+    // Per-request statement counts and JDBC time for RequestMetricsFilter
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryTracker() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestQueryTracker());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestQueryTracker.JdbcTimer.class.getName());
+        };
+    }
+}
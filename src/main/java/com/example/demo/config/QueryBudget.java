@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Declares how many SQL statements and how much JDBC time one request to a handler method
+// may take; QueryBudgetChecker applies app.query-budget.* defaults to undeclared limits
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+    
+    // Maximum statements per request, -1 for the configured default
+    int statements() default -1;
+    
+    // Maximum JDBC execution time per request in milliseconds, -1 for the configured default
+    long jdbcTimeMillis() default -1;
+}
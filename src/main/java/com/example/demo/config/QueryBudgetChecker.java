@@ -0,0 +1,103 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Compares the statements a request ran with its @QueryBudget (or the app.query-budget.*
+// defaults) and flags the same statement repeated many times, the usual sign of an N+1.
+// Violations are logged as one structured warning; in FAIL mode the request also throws,
+// which makes tests of an endpoint fail when it goes over budget.
+@Component
+public class QueryBudgetChecker {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetChecker.class);
+    
+    // Longest SQL text included per statement in a warning
+    private static final int MAX_SQL_LENGTH = 300;
+    
+    public enum Mode {
+        OFF,
+        LOG,
+        FAIL
+    }
+    
+    private final Mode mode;
+    private final int defaultStatements;
+    private final Duration defaultJdbcTime;
+    private final int repeatedStatementLimit;
+    private final int topStatements;
+    
+    @Autowired
+    public QueryBudgetChecker(@Value("${app.query-budget.mode:log}") Mode mode,
+                              @Value("${app.query-budget.statements:30}") int defaultStatements,
+                              @Value("${app.query-budget.jdbc-time:500ms}") Duration defaultJdbcTime,
+                              @Value("${app.query-budget.repeated-statement-limit:10}") int repeatedStatementLimit,
+                              @Value("${app.query-budget.top-statements:5}") int topStatements) {
+        this.mode = mode;
+        this.defaultStatements = defaultStatements;
+        this.defaultJdbcTime = defaultJdbcTime;
+        this.repeatedStatementLimit = repeatedStatementLimit;
+        this.topStatements = topStatements;
+    }
+    
+    // Check one finished request; endpoint is "METHOD /uri/{pattern}" and handler the matched handler, if any
+    void check(String endpoint, Object handler, RequestQueryTracker.RequestQueries queries) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        
+        QueryBudget budget = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(QueryBudget.class)
+                : null;
+        int maxStatements = budget != null && budget.statements() >= 0 ? budget.statements() : defaultStatements;
+        long maxJdbcMillis = budget != null && budget.jdbcTimeMillis() >= 0 ? budget.jdbcTimeMillis() : defaultJdbcTime.toMillis();
+        long jdbcMillis = Duration.ofNanos(queries.getJdbcNanos()).toMillis();
+        List<RequestQueryTracker.StatementStats> top = queries.getTopStatements(topStatements);
+        
+        List<String> violations = new ArrayList<>();
+        if (queries.getStatementCount() > maxStatements) {
+            violations.add("statements " + queries.getStatementCount() + " > " + maxStatements);
+        }
+        if (jdbcMillis > maxJdbcMillis) {
+            violations.add("jdbc time " + jdbcMillis + " ms > " + maxJdbcMillis + " ms");
+        }
+        if (!top.isEmpty() && top.get(0).getCount() > repeatedStatementLimit) {
+            violations.add("statement repeated " + top.get(0).getCount() + " times, likely N+1");
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        
+        String statements = top.stream()
+                .map(stats -> String.format(Locale.ROOT, "%dx %.1f ms %s", stats.getCount(),
+                        stats.getJdbcNanos() / 1e6, abbreviate(stats.getSql())))
+                .collect(Collectors.joining("; "));
+        log.atWarn()
+                .addKeyValue("endpoint", endpoint)
+                .addKeyValue("statements", queries.getStatementCount())
+                .addKeyValue("statementBudget", maxStatements)
+                .addKeyValue("jdbcMillis", jdbcMillis)
+                .addKeyValue("jdbcBudgetMillis", maxJdbcMillis)
+                .addKeyValue("topStatements", statements)
+                .log("Query budget exceeded for {}: {}; top statements: {}", endpoint, violations, statements);
+        
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException("Query budget exceeded for " + endpoint + ": " + violations);
+        }
+    }
+    
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() > MAX_SQL_LENGTH ? singleLine.substring(0, MAX_SQL_LENGTH) + "..." : singleLine;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.config;
+
+// Thrown after a request when app.query-budget.mode=fail and the request broke its query budget
+public class QueryBudgetExceededException extends RuntimeException {
+    
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Records how many SQL statements each request ran and how long JDBC spent on them, tagged
+// like http.server.requests, then holds the request to its query budget
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetChecker queryBudgetChecker;
+    
+    @Autowired
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryBudgetChecker queryBudgetChecker) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudgetChecker = queryBudgetChecker;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryTracker.RequestQueries queries;
+        RequestQueryTracker.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queries = RequestQueryTracker.end();
+            String uri = uriPattern(request);
+            DistributionSummary.builder("app.http.request.statements")
+                    .description("SQL statements prepared per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(queries.getStatementCount());
+            Timer.builder("app.http.request.jdbc")
+                    .description("JDBC execution time per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(queries.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+        
+        // Streaming responses are still being written; their first dispatch ran no queries worth judging
+        if (!request.isAsyncStarted()) {
+            queryBudgetChecker.check(request.getMethod() + " " + uriPattern(request),
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE), queries);
+        }
+    }
+    
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hibernate statement inspector that tracks the SQL statements run on the current thread
+// between begin() and end(): how many, how long JDBC spent executing them, and both per
+// distinct statement. RequestMetricsFilter brackets each request with them.
+public class RequestQueryTracker implements StatementInspector {
+    
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+    
+    static void begin() {
+        CURRENT.set(new RequestQueries());
+    }
+    
+    // Statements tracked since begin(); stops tracking on this thread
+    static RequestQueries end() {
+        RequestQueries queries = CURRENT.get();
+        CURRENT.remove();
+        return queries != null ? queries : new RequestQueries();
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        RequestQueries queries = CURRENT.get();
+        if (queries != null) {
+            queries.prepared(sql);
+        }
+        return sql;
+    }
+    
+    // Times statement and batch execution; Hibernate creates one per session from
+    // hibernate.session.events.auto, and each execution follows its statement's inspect()
+    public static class JdbcTimer extends BaseSessionEventListener {
+        
+        private long start;
+        
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start = System.nanoTime();
+        }
+        
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed();
+        }
+        
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start = System.nanoTime();
+        }
+        
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed();
+        }
+        
+        private void executed() {
+            RequestQueries queries = CURRENT.get();
+            if (queries != null) {
+                queries.executed(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    // Statements of one request, by SQL text; bind parameters keep repeated lookups on one entry
+    static class RequestQueries {
+        
+        private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+        private StatementStats last;
+        private long count;
+        private long jdbcNanos;
+        
+        void prepared(String sql) {
+            last = statements.computeIfAbsent(sql, StatementStats::new);
+            last.count++;
+            count++;
+        }
+        
+        void executed(long nanos) {
+            jdbcNanos += nanos;
+            if (last != null) {
+                last.jdbcNanos += nanos;
+            }
+        }
+        
+        long getStatementCount() {
+            return count;
+        }
+        
+        long getJdbcNanos() {
+            return jdbcNanos;
+        }
+        
+        // Most frequent statements first, then the slowest
+        List<StatementStats> getTopStatements(int limit) {
+            List<StatementStats> sorted = new ArrayList<>(statements.values());
+            sorted.sort(Comparator.comparingLong(StatementStats::getCount)
+                    .thenComparingLong(StatementStats::getJdbcNanos)
+                    .reversed());
+            return sorted.subList(0, Math.min(limit, sorted.size()));
+        }
+    }
+    
+    static class StatementStats {
+        
+        private final String sql;
+        private long count;
+        private long jdbcNanos;
+        
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+        
+        String getSql() {
+            return sql;
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        long getJdbcNanos() {
+            return jdbcNanos;
+        }
+    }
+}
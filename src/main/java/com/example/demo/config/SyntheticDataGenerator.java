@@ -0,0 +1,195 @@
+package com.example.demo.config;
+
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.service.DerivedStateRebuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Bulk-loads a reproducible synthetic data set for load testing (profile "generate",
+// sized in application-generate.properties). Rows go in through batched JDBC inserts;
+// tasks are spread over users, statuses, priorities and due dates with a realistic skew.
+@Component
+@Profile("generate")
+public class SyntheticDataGenerator implements CommandLineRunner {
+    
+    // Matches INCREMENT BY on users_seq and tasks_seq
+    private static final int ID_BLOCK_SIZE = 50;
+    
+    private static final String[] WORDS = {
+        "report", "review", "deploy", "invoice", "meeting", "backup", "audit", "release", "budget",
+        "design", "migrate", "onboard", "support", "contract", "survey", "roadmap", "hiring", "cleanup"
+    };
+    
+    // Cumulative weights in enum order
+    private static final double[] STATUS_WEIGHTS = {0.40, 0.65, 0.95, 1.0};      // PENDING, IN_PROGRESS, COMPLETED, CANCELLED
+    private static final double[] PRIORITY_WEIGHTS = {0.30, 0.75, 0.95, 1.0};    // LOW, MEDIUM, HIGH, URGENT
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DerivedStateRebuilder derivedStateRebuilder;
+    private final int userCount;
+    private final int taskCount;
+    private final int batchSize;
+    private final double userSkew;
+    private final long seed;
+    
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  DerivedStateRebuilder derivedStateRebuilder,
+                                  @Value("${app.generator.users:1000}") int userCount,
+                                  @Value("${app.generator.tasks:100000}") int taskCount,
+                                  @Value("${app.generator.batch-size:1000}") int batchSize,
+                                  @Value("${app.generator.user-skew:1.1}") double userSkew,
+                                  @Value("${app.generator.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.derivedStateRebuilder = derivedStateRebuilder;
+        this.userCount = userCount;
+        this.taskCount = taskCount;
+        this.batchSize = batchSize;
+        this.userSkew = userSkew;
+        this.seed = seed;
+    }
+    
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Long> userIds = transactionTemplate.execute(status -> insertUsers(random, now));
+        transactionTemplate.executeWithoutResult(status -> insertTasks(random, now, userIds));
+        derivedStateRebuilder.rebuildDerivedState();
+        
+        System.out.println("Generated " + userCount + " users and " + taskCount + " tasks in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+    
+    private List<Long> insertUsers(Random random, LocalDateTime now) {
+        List<Long> ids = allocateIds("users_seq", userCount);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < userCount; i++) {
+            String username = "load_user_" + i;
+            String email = username + "@example.com";
+            Timestamp createdAt = Timestamp.valueOf(now.minusDays(random.nextInt(730)));
+            rows.add(new Object[] {ids.get(i), username, username, email, email, "Load User " + i, createdAt, createdAt});
+            if (rows.size() == batchSize) {
+                insertUserBatch(rows);
+            }
+        }
+        insertUserBatch(rows);
+        return ids;
+    }
+    
+    private void insertTasks(Random random, LocalDateTime now, List<Long> userIds) {
+        List<Long> ids = allocateIds("tasks_seq", taskCount);
+        double[] userWeights = zipfWeights(userIds.size(), userSkew);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < taskCount; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " #" + i;
+            String description = random.nextInt(5) == 0 ? null
+                    : "Follow up on the " + WORDS[random.nextInt(WORDS.length)] + " for " + WORDS[random.nextInt(WORDS.length)];
+            TaskStatus status = statuses[pick(random, STATUS_WEIGHTS)];
+            TaskPriority priority = priorities[pick(random, PRIORITY_WEIGHTS)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(365 * 24 * 60));
+            LocalDateTime updatedAt = createdAt.plusMinutes(random.nextInt(30 * 24 * 60));
+            if (updatedAt.isAfter(now)) {
+                updatedAt = now;
+            }
+            rows.add(new Object[] {
+                ids.get(i), title, description, status.name(), priority.name(),
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt), dueDate(random, now),
+                userIds.get(pick(random, userWeights))
+            });
+            if (rows.size() == batchSize) {
+                insertTaskBatch(rows);
+            }
+        }
+        insertTaskBatch(rows);
+    }
+    
+    private void insertUserBatch(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, username, username_lc, email, email_lc, full_name, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+    
+    private void insertTaskBatch(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at, due_date, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+    
+    // Take ids the way Hibernate's pooled optimizer does, so entities saved later never collide:
+    // each sequence value v reserves (v - 50, v]. Values below one block are Hibernate's own first block.
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Long hi = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+            if (hi == null || hi < ID_BLOCK_SIZE) {
+                continue;
+            }
+            for (long id = hi - ID_BLOCK_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
+    // A fifth without a due date; the rest mostly ahead of now, with a tail already overdue
+    private static Timestamp dueDate(Random random, LocalDateTime now) {
+        if (random.nextInt(5) == 0) {
+            return null;
+        }
+        long hours = Math.round(random.nextGaussian() * 24 * 21 + 24 * 10);
+        return Timestamp.valueOf(now.plusHours(hours));
+    }
+    
+    // Cumulative Zipf weights: user k gets a share proportional to 1 / (k + 1)^skew
+    private static double[] zipfWeights(int n, double skew) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+    
+    // Index of the first cumulative weight above a uniform draw
+    private static int pick(Random random, double[] cumulativeWeights) {
+        double draw = random.nextDouble();
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] <= draw) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
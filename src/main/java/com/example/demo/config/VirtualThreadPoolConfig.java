@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// With virtual threads, a thread holding a pooled connection can be pinned to its carrier inside
+// the H2 driver's synchronized sections. Keeping the pool below the carrier count means those
+// sections can never occupy every carrier, so other virtual threads always have one to run on.
+@Configuration
+public class VirtualThreadPoolConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPoolConfig.class);
+    
+    // Static so the post-processor does not instantiate this configuration early
+    @Bean
+    public static BeanPostProcessor connectionPoolCarrierLimit(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && Threading.VIRTUAL.isActive(environment)) {
+                    limitToCarriers(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    private static void limitToCarriers(HikariDataSource dataSource) {
+        int carriers = carrierParallelism();
+        int limit = Math.max(1, carriers - 1);
+        if (dataSource.getMaximumPoolSize() <= limit) {
+            return;
+        }
+        log.warn("Lowering maximum-pool-size from {} to {} to stay below the {} virtual-thread carriers; "
+                + "raise -Djdk.virtualThreadScheduler.parallelism to allow more connections",
+                dataSource.getMaximumPoolSize(), limit, carriers);
+        dataSource.setMaximumPoolSize(limit);
+        if (dataSource.getMinimumIdle() > limit) {
+            dataSource.setMinimumIdle(limit);
+        }
+    }
+    
+    // Carrier threads of the default virtual-thread scheduler
+    private static int carrierParallelism() {
+        String configured = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        return configured != null ? Integer.parseInt(configured.trim()) : Runtime.getRuntime().availableProcessors();
+    }
+}
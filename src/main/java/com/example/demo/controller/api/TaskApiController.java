@@ -1,22 +1,41 @@
 package com.example.demo.controller.api;
 
+import com.example.demo.config.QueryBudget;
+import com.example.demo.dto.BulkStatusUpdateDTO;
+import com.example.demo.dto.TaskChangesDTO;
 import com.example.demo.dto.TaskDTO;
+import com.example.demo.dto.TaskVersionDTO;
 import com.example.demo.model.Task;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
+import com.example.demo.service.TaskChangesService;
 import com.example.demo.service.TaskService;
+import com.example.demo.service.TaskStreamBroadcaster;
 import com.example.demo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -24,79 +43,114 @@ import java.util.stream.Collectors;
 public class TaskApiController {
     
     private final TaskService taskService;
+    private final TaskChangesService taskChangesService;
+    private final TaskStreamBroadcaster taskStreamBroadcaster;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public TaskApiController(TaskService taskService, UserService userService) {
+    public TaskApiController(TaskService taskService, TaskChangesService taskChangesService,
+                             TaskStreamBroadcaster taskStreamBroadcaster, UserService userService,
+                             ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskChangesService = taskChangesService;
+        this.taskStreamBroadcaster = taskStreamBroadcaster;
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
     
-    // GET /api/tasks - Get all tasks
+    // GET /api/tasks?after={id}&limit={n} - Get a keyset page of tasks ordered by id
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        List<Task> tasks = taskService.findAll();
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(taskDTOs);
+    @QueryBudget(statements = 1)
+    public ResponseEntity<List<TaskDTO>> getAllTasks(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<TaskDTO> taskDTOs = taskService.findPage(after, limit);
+        
+        // A full page means there may be more rows; point the client at the next cursor
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!taskDTOs.isEmpty() && taskDTOs.size() >= Math.min(limit, TaskService.MAX_PAGE_SIZE)) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", taskDTOs.get(taskDTOs.size() - 1).getId())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(taskDTOs);
     }
     
-    // GET /api/tasks/{id} - Get task by ID
+    // GET /api/tasks?stream=true - Stream all tasks as newline-delimited JSON
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        StreamingResponseBody body = out -> taskService.forEachTask(task -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(new TaskDTO(task)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    // GET /api/tasks/{id} - Get task by ID; 304 when If-None-Match / If-Modified-Since still match
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
+    @QueryBudget(statements = 3)
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id, WebRequest request) {
+        TaskVersionDTO version = taskService.getTaskVersion(id);
+        if (version.getTaskCount() == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = eTag("task-" + id, version);
+        if (request.checkNotModified(eTag, lastModifiedMillis(version))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
         Optional<Task> task = taskService.findById(id);
-        return task.map(t -> ResponseEntity.ok(new TaskDTO(t)))
+        return task.map(t -> ResponseEntity.ok().eTag(eTag).body(new TaskDTO(t)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    // GET /api/tasks/user/{userId} - Get tasks by user ID
+    // GET /api/tasks/user/{userId} - Get tasks by user ID; 304 when the list has not changed
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TaskDTO>> getTasksByUser(@PathVariable Long userId) {
-        List<Task> tasks = taskService.findByUser(userId);
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(taskDTOs);
+    @QueryBudget(statements = 2)
+    public ResponseEntity<List<TaskDTO>> getTasksByUser(@PathVariable Long userId, WebRequest request) {
+        TaskVersionDTO version = taskService.getUserTasksVersion(userId);
+        String eTag = eTag("user-" + userId + "-tasks", version);
+        if (request.checkNotModified(eTag, lastModifiedMillis(version))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
+        List<TaskDTO> taskDTOs = taskService.findDTOsByUser(userId);
+        return ResponseEntity.ok().eTag(eTag).body(taskDTOs);
     }
     
     // GET /api/tasks/status/{status} - Get tasks by status
     @GetMapping("/status/{status}")
     public ResponseEntity<List<TaskDTO>> getTasksByStatus(@PathVariable TaskStatus status) {
-        List<Task> tasks = taskService.findByStatus(status);
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
+        List<TaskDTO> taskDTOs = taskService.findDTOsByStatus(status);
         return ResponseEntity.ok(taskDTOs);
     }
     
     // GET /api/tasks/priority/{priority} - Get tasks by priority
     @GetMapping("/priority/{priority}")
     public ResponseEntity<List<TaskDTO>> getTasksByPriority(@PathVariable TaskPriority priority) {
-        List<Task> tasks = taskService.findByPriority(priority);
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
+        List<TaskDTO> taskDTOs = taskService.findDTOsByPriority(priority);
         return ResponseEntity.ok(taskDTOs);
     }
     
     // GET /api/tasks/user/{userId}/status/{status} - Get tasks by user and status
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<List<TaskDTO>> getTasksByUserAndStatus(@PathVariable Long userId, @PathVariable TaskStatus status) {
-        List<Task> tasks = taskService.findByUserAndStatus(userId, status);
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
+        List<TaskDTO> taskDTOs = taskService.findDTOsByUserAndStatus(userId, status);
         return ResponseEntity.ok(taskDTOs);
     }
     
     // GET /api/tasks/overdue - Get overdue tasks
     @GetMapping("/overdue")
     public ResponseEntity<List<TaskDTO>> getOverdueTasks() {
-        List<Task> tasks = taskService.findOverdueTasks();
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(TaskDTO::new)
-                .collect(Collectors.toList());
+        List<TaskDTO> taskDTOs = taskService.findOverdueTaskDTOs();
         return ResponseEntity.ok(taskDTOs);
     }
     
@@ -111,6 +165,18 @@ public class TaskApiController {
         }
     }
     
+    // POST /api/tasks/batch - Create many tasks in one request, reporting errors per item
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskDTO> tasks) {
+        try {
+            TaskService.BatchResult result = taskService.createTasks(tasks);
+            HttpStatus status = result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     // POST /api/tasks/user/{userId} - Create task for specific user
     @PostMapping("/user/{userId}")
     public ResponseEntity<?> createTaskForUser(
@@ -142,6 +208,27 @@ public class TaskApiController {
         }
     }
     
+    // PATCH /api/tasks/status - Change the status of many tasks, by ids or by user/status filter
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateTaskStatuses(@RequestBody BulkStatusUpdateDTO request) {
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Target status is required"));
+        }
+        try {
+            int updated;
+            if (request.getIds() != null && !request.getIds().isEmpty()) {
+                updated = taskService.updateStatusForIds(request.getIds(), request.getStatus());
+            } else if (request.getCurrentStatus() != null) {
+                updated = taskService.updateStatusByFilter(request.getUserId(), request.getCurrentStatus(), request.getStatus());
+            } else {
+                return ResponseEntity.badRequest().body(new ErrorResponse("Either ids or currentStatus is required"));
+            }
+            return ResponseEntity.ok(new BulkUpdateResponse(updated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     // PATCH /api/tasks/{id}/status - Update task status
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateTaskStatus(@PathVariable Long id, @RequestParam TaskStatus status) {
@@ -199,17 +286,29 @@ public class TaskApiController {
         }
     }
     
+    // GET /api/tasks/search?q={text}&page={n}&size={n} - Full-text search over title and description
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDTO>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<TaskDTO> results = taskService.search(q, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+                .body(results.getContent());
+    }
+    
     // GET /api/tasks/search/title - Search tasks by title
     @GetMapping("/search/title")
-    public ResponseEntity<List<Task>> searchTasksByTitle(@RequestParam String title) {
-        List<Task> tasks = taskService.searchByTitle(title);
+    public ResponseEntity<List<TaskDTO>> searchTasksByTitle(@RequestParam String title) {
+        List<TaskDTO> tasks = taskService.searchByTitle(title);
         return ResponseEntity.ok(tasks);
     }
     
     // GET /api/tasks/search/description - Search tasks by description
     @GetMapping("/search/description")
-    public ResponseEntity<List<Task>> searchTasksByDescription(@RequestParam String description) {
-        List<Task> tasks = taskService.searchByDescription(description);
+    public ResponseEntity<List<TaskDTO>> searchTasksByDescription(@RequestParam String description) {
+        List<TaskDTO> tasks = taskService.searchByDescription(description);
         return ResponseEntity.ok(tasks);
     }
     
@@ -224,8 +323,8 @@ public class TaskApiController {
     
     // GET /api/tasks/user/{userId}/high-priority - Get high priority tasks for user
     @GetMapping("/user/{userId}/high-priority")
-    public ResponseEntity<List<Task>> getHighPriorityTasksByUser(@PathVariable Long userId) {
-        List<Task> tasks = taskService.findHighPriorityTasksByUser(userId);
+    public ResponseEntity<List<TaskDTO>> getHighPriorityTasksByUser(@PathVariable Long userId) {
+        List<TaskDTO> tasks = taskService.findHighPriorityTaskDTOsByUser(userId);
         return ResponseEntity.ok(tasks);
     }
     
@@ -236,6 +335,58 @@ public class TaskApiController {
         return ResponseEntity.ok(statistics);
     }
     
+    // GET /api/tasks/changes?since={ts}&afterId={id}&userId={id}&limit={n} - Tasks changed or deleted
+    // after a cursor; pass nextSince/nextAfterId from the response to the next request
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "500") int limit) {
+        LocalDateTime retainedSince = taskChangesService.getRetainedSince();
+        if (since.isBefore(retainedSince)) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(new ErrorResponse("Changes before " + retainedSince
+                            + " are no longer available; reload the full task list"));
+        }
+        TaskChangesDTO changes = taskChangesService.findChanges(since, afterId, userId, limit);
+        return ResponseEntity.ok(changes);
+    }
+    
+    // GET /api/tasks/stream?userId={id} - Server-Sent Events for task changes as they commit,
+    // optionally limited to one user's tasks; on a "resync" event, catch up from /changes
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@RequestParam(required = false) Long userId) {
+        return taskStreamBroadcaster.subscribe(userId);
+    }
+    
+    // GET /api/tasks/statistics?userIds={ids} - Get task statistics for many users at once
+    @GetMapping("/statistics")
+    public ResponseEntity<Map<Long, TaskService.TaskStatistics>> getTaskStatisticsForUsers(@RequestParam List<Long> userIds) {
+        Map<Long, TaskService.TaskStatistics> statistics = taskService.getTaskStatisticsForUsers(userIds);
+        return ResponseEntity.ok(statistics);
+    }
+    
+    // Strong ETag from the resource name, task count and the task and user update times
+    private static String eTag(String resource, TaskVersionDTO version) {
+        return "\"" + resource + "-" + version.getTaskCount() + "-" + epochMicros(version.getTasksUpdatedAt())
+                + "-" + epochMicros(version.getUserUpdatedAt()) + "\"";
+    }
+    
+    private static String epochMicros(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, instant));
+    }
+    
+    // Last-Modified in epoch millis, or -1 (no Last-Modified) when nothing has a timestamp
+    private static long lastModifiedMillis(TaskVersionDTO version) {
+        LocalDateTime lastModified = version.getLastModified();
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+    
     // Error response class
     public static class ErrorResponse {
         private String message;
@@ -253,6 +404,23 @@ public class TaskApiController {
         }
     }
     
+    // Bulk update response class
+    public static class BulkUpdateResponse {
+        private int updated;
+        
+        public BulkUpdateResponse(int updated) {
+            this.updated = updated;
+        }
+        
+        public int getUpdated() {
+            return updated;
+        }
+        
+        public void setUpdated(int updated) {
+            this.updated = updated;
+        }
+    }
+    
     // Success response class
     public static class SuccessResponse {
         private String message;
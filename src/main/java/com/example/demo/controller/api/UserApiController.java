@@ -1,7 +1,9 @@
 package com.example.demo.controller.api;
 
+import com.example.demo.config.QueryBudget;
 import com.example.demo.dto.UserDTO;
 import com.example.demo.model.User;
+import com.example.demo.service.TaskService;
 import com.example.demo.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -19,27 +20,28 @@ import java.util.stream.Collectors;
 public class UserApiController {
     
     private final UserService userService;
+    private final TaskService taskService;
     
     @Autowired
-    public UserApiController(UserService userService) {
+    public UserApiController(UserService userService, TaskService taskService) {
         this.userService = userService;
+        this.taskService = taskService;
     }
     
     // GET /api/users - Get all users
     @GetMapping
+    @QueryBudget(statements = 1)
     public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<User> users = userService.findAll();
-        List<UserDTO> userDTOs = users.stream()
-                .map(UserDTO::new)
-                .collect(Collectors.toList());
+        List<UserDTO> userDTOs = userService.findAllWithTaskCounts();
         return ResponseEntity.ok(userDTOs);
     }
     
     // GET /api/users/{id} - Get user by ID
     @GetMapping("/{id}")
+    @QueryBudget(statements = 1)
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         Optional<User> user = userService.findById(id);
-        return user.map(u -> ResponseEntity.ok(new UserDTO(u)))
+        return user.map(u -> ResponseEntity.ok(toDTO(u)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -47,7 +49,7 @@ public class UserApiController {
     @GetMapping("/username/{username}")
     public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username) {
         Optional<User> user = userService.findByUsername(username);
-        return user.map(u -> ResponseEntity.ok(new UserDTO(u)))
+        return user.map(u -> ResponseEntity.ok(toDTO(u)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -55,7 +57,7 @@ public class UserApiController {
     @GetMapping("/email/{email}")
     public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email) {
         Optional<User> user = userService.findByEmail(email);
-        return user.map(u -> ResponseEntity.ok(new UserDTO(u)))
+        return user.map(u -> ResponseEntity.ok(toDTO(u)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -64,7 +66,7 @@ public class UserApiController {
     public ResponseEntity<?> createUser(@Valid @RequestBody User user) {
         try {
             User createdUser = userService.createUser(user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(new UserDTO(createdUser));
+            return ResponseEntity.status(HttpStatus.CREATED).body(new UserDTO(createdUser, 0));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -121,6 +123,11 @@ public class UserApiController {
         return ResponseEntity.ok(count);
     }
     
+    // Build a DTO using the in-memory task counters instead of loading the user's tasks
+    private UserDTO toDTO(User user) {
+        return new UserDTO(user, taskService.getTaskCountByUser(user.getId()));
+    }
+    
     // Error response class
     public static class ErrorResponse {
         private String message;
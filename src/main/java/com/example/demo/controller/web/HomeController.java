@@ -1,7 +1,7 @@
 package com.example.demo.controller.web;
 
-import com.example.demo.service.TaskService;
-import com.example.demo.service.UserService;
+import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,28 +10,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
     
-    private final UserService userService;
-    private final TaskService taskService;
+    private final DashboardService dashboardService;
     
     @Autowired
-    public HomeController(UserService userService, TaskService taskService) {
-        this.userService = userService;
-        this.taskService = taskService;
+    public HomeController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
     }
     
     @GetMapping("/")
     public String home(Model model) {
-        // Get dashboard statistics
-        long totalUsers = userService.getUserCount();
-        long totalTasks = taskService.findAll().size();
-        long completedTasks = taskService.findByStatus(com.example.demo.model.TaskStatus.COMPLETED).size();
-        long overdueTasks = taskService.findOverdueTasks().size();
+        // Get dashboard statistics (cached snapshot, refreshed every few seconds)
+        DashboardSummaryDTO summary = dashboardService.getSummary();
         
         model.addAttribute("pageTitle", "Dashboard");
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("totalTasks", totalTasks);
-        model.addAttribute("completedTasks", completedTasks);
-        model.addAttribute("overdueTasks", overdueTasks);
+        model.addAttribute("totalUsers", summary.getTotalUsers());
+        model.addAttribute("totalTasks", summary.getTotalTasks());
+        model.addAttribute("completedTasks", summary.getCompletedTasks());
+        model.addAttribute("overdueTasks", summary.getOverdueTasks());
         
         return "index";
     }
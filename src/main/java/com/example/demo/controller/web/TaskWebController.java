@@ -1,24 +1,35 @@
 package com.example.demo.controller.web;
 
+import com.example.demo.dto.TaskDTO;
 import com.example.demo.model.Task;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
-import com.example.demo.model.User;
 import com.example.demo.service.TaskService;
 import com.example.demo.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Controller
 @RequestMapping("/tasks")
 public class TaskWebController {
     
+    // Largest page the task list renders
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    // Task properties the list may be sorted by
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "status", "priority", "createdAt", "dueDate");
+    
     private final TaskService taskService;
     private final UserService userService;
     
@@ -32,38 +43,37 @@ public class TaskWebController {
     public String listTasks(@RequestParam(required = false) Long userId, 
                            @RequestParam(required = false) TaskStatus status,
                            @RequestParam(required = false) TaskPriority priority,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                           @RequestParam(defaultValue = "createdAt") String sort,
+                           @RequestParam(defaultValue = "desc") String dir,
+                           @RequestParam(defaultValue = "0") int page,
+                           @RequestParam(defaultValue = "20") int size,
                            Model model) {
-        List<Task> tasks;
-        
-        if (userId != null) {
-            if (status != null) {
-                tasks = taskService.findByUserAndStatus(userId, status);
-            } else {
-                tasks = taskService.findByUser(userId);
-            }
-            User user = userService.findById(userId).orElse(null);
-            model.addAttribute("selectedUser", user);
-        } else {
-            if (status != null) {
-                tasks = taskService.findByStatus(status);
-            } else {
-                tasks = taskService.findAll();
-            }
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            sort = "createdAt";
         }
+        Sort.Direction direction = "asc".equalsIgnoreCase(dir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // Tie-break on id so rows do not move between pages when the sort column repeats
+        Sort order = Sort.by(direction, sort).and(Sort.by(Sort.Direction.ASC, "id"));
         
-        if (priority != null) {
-            tasks = tasks.stream()
-                    .filter(task -> task.getPriority() == priority)
-                    .toList();
-        }
+        // The due range is inclusive of whole days: [dueFrom 00:00, dueTo + 1 day 00:00)
+        Page<Task> taskPage = taskService.findTasks(userId, status, priority,
+                dueFrom != null ? dueFrom.atStartOfDay() : null,
+                dueTo != null ? dueTo.plusDays(1).atStartOfDay() : null,
+                page, Math.min(size, MAX_PAGE_SIZE), order);
         
-        List<User> users = userService.findAll();
         model.addAttribute("pageTitle", "Tasks");
-        model.addAttribute("tasks", tasks);
-        model.addAttribute("users", users);
+        model.addAttribute("tasks", taskPage.getContent());
+        model.addAttribute("taskPage", taskPage);
+        model.addAttribute("users", userService.findAllSummaries());
         model.addAttribute("selectedUserId", userId);
         model.addAttribute("selectedStatus", status);
         model.addAttribute("selectedPriority", priority);
+        model.addAttribute("dueFrom", dueFrom);
+        model.addAttribute("dueTo", dueTo);
+        model.addAttribute("sort", sort);
+        model.addAttribute("dir", direction == Sort.Direction.ASC ? "asc" : "desc");
         model.addAttribute("taskStatuses", TaskStatus.values());
         model.addAttribute("taskPriorities", TaskPriority.values());
         
@@ -74,7 +84,7 @@ public class TaskWebController {
     public String createTaskForm(Model model) {
         model.addAttribute("pageTitle", "Create Task");
         model.addAttribute("task", new Task());
-        model.addAttribute("users", userService.findAll());
+        model.addAttribute("users", userService.findAllSummaries());
         model.addAttribute("taskPriorities", TaskPriority.values());
         return "tasks/create";
     }
@@ -82,7 +92,7 @@ public class TaskWebController {
     @PostMapping("/create")
     public String createTask(@Valid @ModelAttribute Task task, BindingResult bindingResult, Model model) {
         if (bindingResult.hasErrors()) {
-            model.addAttribute("users", userService.findAll());
+            model.addAttribute("users", userService.findAllSummaries());
             model.addAttribute("taskPriorities", TaskPriority.values());
             return "tasks/create";
         }
@@ -92,7 +102,7 @@ public class TaskWebController {
             return "redirect:/tasks?success=created";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
-            model.addAttribute("users", userService.findAll());
+            model.addAttribute("users", userService.findAllSummaries());
             model.addAttribute("taskPriorities", TaskPriority.values());
             return "tasks/create";
         }
@@ -112,7 +122,7 @@ public class TaskWebController {
         Task task = taskService.findById(id)
             .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         model.addAttribute("task", task);
-        model.addAttribute("users", userService.findAll());
+        model.addAttribute("users", userService.findAllSummaries());
         model.addAttribute("taskStatuses", TaskStatus.values());
         model.addAttribute("taskPriorities", TaskPriority.values());
         return "tasks/edit";
@@ -122,7 +132,7 @@ public class TaskWebController {
     public String updateTask(@PathVariable Long id, @Valid @ModelAttribute Task task,
                            BindingResult bindingResult, Model model) {
         if (bindingResult.hasErrors()) {
-            model.addAttribute("users", userService.findAll());
+            model.addAttribute("users", userService.findAllSummaries());
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("taskPriorities", TaskPriority.values());
             return "tasks/edit";
@@ -134,7 +144,7 @@ public class TaskWebController {
             return "redirect:/tasks/" + id + "?success=updated";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
-            model.addAttribute("users", userService.findAll());
+            model.addAttribute("users", userService.findAllSummaries());
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("taskPriorities", TaskPriority.values());
             return "tasks/edit";
@@ -184,7 +194,7 @@ public class TaskWebController {
     public String searchTasks(@RequestParam(required = false) String title,
                              @RequestParam(required = false) String description,
                              Model model) {
-        List<Task> tasks;
+        List<TaskDTO> tasks;
         String searchTerm = "";
         String searchType = "";
         
@@ -197,7 +207,7 @@ public class TaskWebController {
             searchTerm = description;
             searchType = "description";
         } else {
-            tasks = taskService.findAll();
+            tasks = taskService.findPage(null, TaskService.MAX_PAGE_SIZE);
         }
         
         model.addAttribute("pageTitle", "Search Tasks");
@@ -0,0 +1,50 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.TaskStatus;
+
+import java.util.Set;
+
+public class BulkStatusUpdateDTO {
+    // Either explicit task ids...
+    private Set<Long> ids;
+    // ...or a filter: every task currently in currentStatus, optionally limited to one user
+    private Long userId;
+    private TaskStatus currentStatus;
+    // Status to move the matching tasks to
+    private TaskStatus status;
+
+    public BulkStatusUpdateDTO() {}
+
+    // Getters and Setters
+    public Set<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(Set<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public TaskStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(TaskStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.dto;
+
+public class DashboardSummaryDTO {
+    private long totalUsers;
+    private long totalTasks;
+    private long completedTasks;
+    private long overdueTasks;
+
+    public DashboardSummaryDTO() {}
+
+    // Used by the aggregate JPQL query; SUM over an empty table yields null
+    public DashboardSummaryDTO(Long totalUsers, Long totalTasks, Long completedTasks, Long overdueTasks) {
+        this.totalUsers = totalUsers != null ? totalUsers : 0L;
+        this.totalTasks = totalTasks != null ? totalTasks : 0L;
+        this.completedTasks = completedTasks != null ? completedTasks : 0L;
+        this.overdueTasks = overdueTasks != null ? overdueTasks : 0L;
+    }
+
+    // Getters and Setters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public void setOverdueTasks(long overdueTasks) {
+        this.overdueTasks = overdueTasks;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One page of the task change feed: tasks created or updated, ids of deleted tasks,
+// and the cursor (nextSince, nextAfterId) to pass to the following request
+public class TaskChangesDTO {
+    private final List<TaskDTO> updated;
+    private final List<Long> deleted;
+    private final LocalDateTime nextSince;
+    private final Long nextAfterId;
+    private final boolean hasMore;
+
+    public TaskChangesDTO(List<TaskDTO> updated, List<Long> deleted, LocalDateTime nextSince,
+                          Long nextAfterId, boolean hasMore) {
+        this.updated = updated;
+        this.deleted = deleted;
+        this.nextSince = nextSince;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    // Getters
+    public List<TaskDTO> getUpdated() {
+        return updated;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public LocalDateTime getNextSince() {
+        return nextSince;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    // True when the page was full and the client should ask again right away
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -35,6 +35,22 @@ public class TaskDTO {
         }
     }
 
+    // Used by JPQL constructor expressions so list queries can skip entity hydration
+    public TaskDTO(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime dueDate,
+                   Long userId, String userFullName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueDate = dueDate;
+        this.userId = userId;
+        this.userFullName = userFullName;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,89 @@
+package com.example.demo.dto;
+
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+// One task change as pushed over GET /api/tasks/stream; the SSE event name is the type
+public class TaskStreamEventDTO {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String COMPLETED = "completed";
+    public static final String DELETED = "deleted";
+
+    private final String type;
+    private final Long taskId;
+    private final Long userId;
+    private final String title;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final LocalDateTime dueDate;
+
+    public TaskStreamEventDTO(String type, Long taskId, Long userId, String title,
+                              TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        this.type = type;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+    }
+
+    public static TaskStreamEventDTO of(TaskChangedEvent event) {
+        TaskChangedEvent.TaskState before = event.getBefore();
+        TaskChangedEvent.TaskState after = event.getAfter();
+        if (after == null) {
+            return new TaskStreamEventDTO(DELETED, event.getTaskId(), before.userId(), null, null, null, null);
+        }
+        String type = switch (event.getType()) {
+            case CREATED -> CREATED;
+            case DELETED -> DELETED;
+            case UPDATED -> after.status() == TaskStatus.COMPLETED && before.status() != TaskStatus.COMPLETED
+                    ? COMPLETED : UPDATED;
+        };
+        return new TaskStreamEventDTO(type, after.taskId(), after.userId(), after.title(),
+                after.status(), after.priority(), after.dueDate());
+    }
+
+    // Merge a newer event for the same task into this queued one: the newer state wins,
+    // but a task created and then changed before delivery is still reported as created
+    public TaskStreamEventDTO coalesce(TaskStreamEventDTO newer) {
+        if (CREATED.equals(type) && !DELETED.equals(newer.type)) {
+            return new TaskStreamEventDTO(CREATED, newer.taskId, newer.userId, newer.title,
+                    newer.status, newer.priority, newer.dueDate);
+        }
+        return newer;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+// Version stamp of a task or task list, read with one aggregate query so conditional
+// GETs can be answered without loading tasks
+public class TaskVersionDTO {
+    private final long taskCount;
+    private final LocalDateTime tasksUpdatedAt;
+    private final LocalDateTime userUpdatedAt;
+
+    public TaskVersionDTO(Long taskCount, LocalDateTime tasksUpdatedAt, LocalDateTime userUpdatedAt) {
+        this.taskCount = taskCount != null ? taskCount : 0L;
+        this.tasksUpdatedAt = tasksUpdatedAt;
+        this.userUpdatedAt = userUpdatedAt;
+    }
+
+    // Getters
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    // Latest updatedAt over the tasks
+    public LocalDateTime getTasksUpdatedAt() {
+        return tasksUpdatedAt;
+    }
+
+    // updatedAt of the owning user, whose name is part of every TaskDTO
+    public LocalDateTime getUserUpdatedAt() {
+        return userUpdatedAt;
+    }
+
+    // Later of the two timestamps, null when there are no tasks
+    public LocalDateTime getLastModified() {
+        if (tasksUpdatedAt == null || userUpdatedAt == null) {
+            return tasksUpdatedAt != null ? tasksUpdatedAt : userUpdatedAt;
+        }
+        return tasksUpdatedAt.isAfter(userUpdatedAt) ? tasksUpdatedAt : userUpdatedAt;
+    }
+}
@@ -15,14 +15,27 @@ public class UserDTO {
 
     public UserDTO() {}
 
-    public UserDTO(User user) {
+    // Builds the DTO with a task count obtained elsewhere, leaving the tasks collection untouched
+    public UserDTO(User user, long taskCount) {
         this.id = user.getId();
         this.username = user.getUsername();
         this.email = user.getEmail();
         this.fullName = user.getFullName();
         this.createdAt = user.getCreatedAt();
         this.updatedAt = user.getUpdatedAt();
-        this.taskCount = user.getTasks().size();
+        this.taskCount = (int) taskCount;
+    }
+
+    // Used by the user listing query, which counts tasks in SQL instead of loading them
+    public UserDTO(Long id, String username, String email, String fullName,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, Long taskCount) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.taskCount = taskCount != null ? taskCount.intValue() : 0;
     }
 
     // Getters and Setters
@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.User;
+
+// Immutable id, username, email and name of a user; shared by the cached user directory
+public class UserSummaryDTO {
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String fullName;
+
+    public UserSummaryDTO(Long id, String username, String email, String fullName) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+    }
+
+    public UserSummaryDTO(User user) {
+        this(user.getId(), user.getUsername(), user.getEmail(), user.getFullName());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+// Published by TaskService whenever a task is created, changed or deleted
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final TaskState before;
+    private final TaskState after;
+
+    public TaskChangedEvent(Type type, Long taskId, TaskState before, TaskState after) {
+        this.type = type;
+        this.taskId = taskId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), null, TaskState.of(task));
+    }
+
+    public static TaskChangedEvent updated(TaskState before, Task task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), before, TaskState.of(task));
+    }
+
+    public static TaskChangedEvent deleted(TaskState before) {
+        return new TaskChangedEvent(Type.DELETED, before.taskId(), before, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    // State before the change, null for CREATED
+    public TaskState getBefore() {
+        return before;
+    }
+
+    // State after the change, null for DELETED
+    public TaskState getAfter() {
+        return after;
+    }
+
+    // Immutable copy of the task fields listeners key on
+    public record TaskState(Long taskId, Long userId, TaskStatus status, TaskPriority priority,
+                            LocalDateTime dueDate, String title, String description) {
+
+        public static TaskState of(Task task) {
+            Long userId = task.getUser() != null ? task.getUser().getId() : null;
+            return new TaskState(task.getId(), userId, task.getStatus(), task.getPriority(),
+                    task.getDueDate(), task.getTitle(), task.getDescription());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.event;
+
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+
+import java.util.List;
+
+// Published by TaskService after a bulk UPDATE moved many tasks to one status;
+// affected rows are summarized per (user, previous status, priority) since no entities were loaded
+public class TaskStatusBulkChangedEvent {
+
+    private final TaskStatus status;
+    private final List<Group> groups;
+
+    public TaskStatusBulkChangedEvent(TaskStatus status, List<Group> groups) {
+        this.status = status;
+        this.groups = groups;
+    }
+
+    // Getters
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public record Group(Long userId, TaskStatus previousStatus, TaskPriority priority, long count) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.UserSummaryDTO;
+import com.example.demo.model.User;
+
+// Published by UserService whenever a user is created, changed or deleted. Deleting a user
+// also deletes its tasks by cascade, and no TaskChangedEvent is published for those tasks.
+public class UserChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final UserSummaryDTO after;
+
+    public UserChangedEvent(Type type, Long userId, UserSummaryDTO after) {
+        this.type = type;
+        this.userId = userId;
+        this.after = after;
+    }
+
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(Type.CREATED, user.getId(), new UserSummaryDTO(user));
+    }
+
+    public static UserChangedEvent updated(User user) {
+        return new UserChangedEvent(Type.UPDATED, user.getId(), new UserSummaryDTO(user));
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(Type.DELETED, userId, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // User as committed, null for DELETED
+    public UserSummaryDTO getAfter() {
+        return after;
+    }
+}
@@ -4,15 +4,31 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+// Indexes mirror db/migration; keep both in step with the TaskRepository query shapes
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_user_status", columnList = "user_id, status"),
+    @Index(name = "idx_tasks_user_priority_created", columnList = "user_id, priority, created_at"),
+    @Index(name = "idx_tasks_status_due_date", columnList = "status, due_date"),
+    @Index(name = "idx_tasks_priority", columnList = "priority"),
+    @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+    @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updated_at"),
+    @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Task {
     
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent.
+    // User ids come from users_seq the same way.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -0,0 +1,49 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Marker left behind when a task is deleted, so delta sync clients learn about the
+// deletion; purged once older than the configured retention
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at"),
+    @Index(name = "idx_task_tombstones_user_deleted_at", columnList = "user_id, deleted_at")
+})
+public class TaskTombstone {
+    
+    // Id of the deleted task; task ids come from a sequence and are never reused
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Constructors
+    public TaskTombstone() {
+    }
+    
+    public TaskTombstone(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
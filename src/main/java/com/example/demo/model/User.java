@@ -5,17 +5,23 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Username is required")
@@ -28,6 +34,15 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
     
+    // Lowercase copies of username and email for case-insensitive lookups by unique index
+    @JsonIgnore
+    @Column(name = "username_lc", unique = true, nullable = false)
+    private String usernameLc;
+    
+    @JsonIgnore
+    @Column(name = "email_lc", unique = true, nullable = false)
+    private String emailLc;
+    
     @NotBlank(message = "Full name is required")
     @Size(min = 2, max = 100, message = "Full name must be between 2 and 100 characters")
     private String fullName;
@@ -50,8 +65,8 @@ public class User {
     
     public User(String username, String email, String fullName) {
         this();
-        this.username = username;
-        this.email = email;
+        setUsername(username);
+        setEmail(email);
         this.fullName = fullName;
     }
     
@@ -70,6 +85,7 @@ public class User {
     
     public void setUsername(String username) {
         this.username = username;
+        this.usernameLc = normalizeKey(username);
     }
     
     public String getEmail() {
@@ -78,6 +94,15 @@ public class User {
     
     public void setEmail(String email) {
         this.email = email;
+        this.emailLc = normalizeKey(email);
+    }
+    
+    public String getUsernameLc() {
+        return usernameLc;
+    }
+    
+    public String getEmailLc() {
+        return emailLc;
     }
     
     public String getFullName() {
@@ -118,6 +143,11 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
     
+    // Lowercase form of a username or email, as stored in username_lc and email_lc
+    public static String normalizeKey(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+    
     @Override
     public String toString() {
         return "User{" +
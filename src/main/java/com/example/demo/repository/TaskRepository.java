@@ -1,44 +1,65 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.dto.TaskVersionDTO;
 import com.example.demo.model.Task;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
-import com.example.demo.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     
-    // Find tasks by user
-    List<Task> findByUser(User user);
+    // Shared projection for list queries: one statement, users joined once
+    String TASK_DTO_SELECT = "SELECT new com.example.demo.dto.TaskDTO(t.id, t.title, t.description, t.status, "
+            + "t.priority, t.createdAt, t.updatedAt, t.dueDate, u.id, u.fullName) FROM Task t JOIN t.user u ";
     
     // Find tasks by user ID
     List<Task> findByUserId(Long userId);
     
-    // Find tasks by status
+    // Find tasks by status (cached query)
+    @EntityGraph(attributePaths = "user")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Task> findByStatus(TaskStatus status);
     
-    // Find tasks by priority
+    // Find tasks by priority (cached query)
+    @EntityGraph(attributePaths = "user")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Task> findByPriority(TaskPriority priority);
     
-    // Find tasks by status and user
-    List<Task> findByStatusAndUser(TaskStatus status, User user);
-    
     // Find overdue tasks
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT t FROM Task t WHERE t.dueDate < :currentTime AND t.status != 'COMPLETED'")
     List<Task> findOverdueTasks(@Param("currentTime") LocalDateTime currentTime);
     
-    // Find tasks by title containing (case insensitive)
-    List<Task> findByTitleContainingIgnoreCase(String title);
+    // Stream id, user id, title and description of every task for building the search index
+    @Query("SELECT t.id, t.user.id, t.title, t.description FROM Task t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Object[]> streamSearchableFields();
     
-    // Find tasks by description containing (case insensitive)
-    List<Task> findByDescriptionContainingIgnoreCase(String description);
+    // Task DTOs by ids (search results)
+    @Query(TASK_DTO_SELECT + "WHERE t.id IN :ids")
+    List<TaskDTO> findTaskDTOsByIdIn(@Param("ids") Collection<Long> ids);
     
     // Find tasks due within a specific time range
     @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :startDate AND :endDate ORDER BY t.dueDate ASC")
@@ -48,10 +69,111 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Find tasks by user and status
     List<Task> findByUserIdAndStatus(Long userId, TaskStatus status);
     
-    // Count tasks by status for a specific user
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.status = :status")
-    long countTasksByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+    // Count tasks per status for a specific user in one grouped query
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.user.id = :userId GROUP BY t.status")
+    List<Object[]> countTasksByStatusForUser(@Param("userId") Long userId);
+    
+    // Count every task grouped by user, status and priority (counter reconciliation)
+    @Query("SELECT t.user.id, t.status, t.priority, COUNT(t) FROM Task t GROUP BY t.user.id, t.status, t.priority")
+    List<Object[]> countTasksGroupedByUserStatusAndPriority();
+    
+    // Count tasks per user and status for a batch of users
+    @Query("SELECT t.user.id, t.status, COUNT(t) FROM Task t WHERE t.user.id IN :userIds GROUP BY t.user.id, t.status")
+    List<Object[]> countTasksByStatusForUsers(@Param("userIds") Collection<Long> userIds);
+    
+    // Dashboard counters computed in a single pass over the tasks table
+    @Query("SELECT new com.example.demo.dto.DashboardSummaryDTO((SELECT COUNT(u) FROM User u), COUNT(t), "
+            + "SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.dueDate < :currentTime AND t.status != 'COMPLETED' THEN 1 ELSE 0 END)) "
+            + "FROM Task t")
+    DashboardSummaryDTO getDashboardSummary(@Param("currentTime") LocalDateTime currentTime);
+    
+    // Id, user id, status and priority of the tasks a bulk status change by ids would touch,
+    // locked (SELECT ... FOR UPDATE) until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.user.id, t.status, t.priority FROM Task t WHERE t.id IN :ids AND t.status <> :status")
+    List<Object[]> lockForStatusChangeByIdIn(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+    
+    // Bulk status change by ids; skips tasks already in the target status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now WHERE t.id IN :ids AND t.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+                           @Param("now") LocalDateTime now);
+    
+    // Id, user id, status and priority of every task of a user (or all users) in the given status,
+    // locked (SELECT ... FOR UPDATE) until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.user.id, t.status, t.priority FROM Task t "
+            + "WHERE (:userId IS NULL OR t.user.id = :userId) AND t.status = :currentStatus")
+    List<Object[]> lockForStatusChangeByFilter(@Param("userId") Long userId, @Param("currentStatus") TaskStatus currentStatus);
+    
+    // Keyset page: next tasks after the given id, served by the primary key index
+    @Query(TASK_DTO_SELECT + "WHERE t.id > :afterId ORDER BY t.id ASC")
+    List<TaskDTO> findTaskDTOsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Task DTOs by user ID
+    @Query(TASK_DTO_SELECT + "WHERE u.id = :userId")
+    List<TaskDTO> findTaskDTOsByUserId(@Param("userId") Long userId);
+    
+    // Task DTOs by status (cached query)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(TASK_DTO_SELECT + "WHERE t.status = :status")
+    List<TaskDTO> findTaskDTOsByStatus(@Param("status") TaskStatus status);
+    
+    // Task DTOs by priority (cached query)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(TASK_DTO_SELECT + "WHERE t.priority = :priority")
+    List<TaskDTO> findTaskDTOsByPriority(@Param("priority") TaskPriority priority);
+    
+    // Task DTOs by user and status
+    @Query(TASK_DTO_SELECT + "WHERE u.id = :userId AND t.status = :status")
+    List<TaskDTO> findTaskDTOsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+    
+    // Task DTOs by user and priority, newest first (idx_tasks_user_priority_created)
+    @Query(TASK_DTO_SELECT + "WHERE u.id = :userId AND t.priority = :priority ORDER BY t.createdAt DESC")
+    List<TaskDTO> findTaskDTOsByUserIdAndPriority(@Param("userId") Long userId, @Param("priority") TaskPriority priority);
+    
+    // Overdue task DTOs
+    @Query(TASK_DTO_SELECT + "WHERE t.dueDate < :currentTime AND t.status != 'COMPLETED'")
+    List<TaskDTO> findOverdueTaskDTOs(@Param("currentTime") LocalDateTime currentTime);
+    
+    // Filtered page of tasks (see TaskSpecifications) with users fetched in the same
+    // statement; the count query Spring Data derives for the page total stays join-free
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Task> findAll(Specification<Task> spec, Pageable pageable);
+    
+    // Version stamp of one task: count is 0 when the task does not exist
+    @Query("SELECT new com.example.demo.dto.TaskVersionDTO(COUNT(t), MAX(t.updatedAt), MAX(u.updatedAt)) "
+            + "FROM Task t JOIN t.user u WHERE t.id = :id")
+    TaskVersionDTO getTaskVersion(@Param("id") Long id);
+    
+    // Version stamp of a user's task list, served by the (user_id, updated_at) index
+    @Query("SELECT new com.example.demo.dto.TaskVersionDTO(COUNT(t), MAX(t.updatedAt), "
+            + "(SELECT u.updatedAt FROM User u WHERE u.id = :userId)) "
+            + "FROM Task t WHERE t.user.id = :userId")
+    TaskVersionDTO getUserTasksVersion(@Param("userId") Long userId);
+    
+    // Task DTOs changed after the (updatedAt, id) cursor and before the upper bound, oldest first
+    @Query(TASK_DTO_SELECT + "WHERE t.updatedAt >= :since AND t.updatedAt < :until "
+            + "AND (t.updatedAt > :since OR t.id > :afterId) ORDER BY t.updatedAt ASC, t.id ASC")
+    List<TaskDTO> findTaskDTOsChangedBetween(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                             @Param("until") LocalDateTime until, Pageable pageable);
+    
+    // Same as findTaskDTOsChangedBetween for one user's tasks
+    @Query(TASK_DTO_SELECT + "WHERE u.id = :userId AND t.updatedAt >= :since AND t.updatedAt < :until "
+            + "AND (t.updatedAt > :since OR t.id > :afterId) ORDER BY t.updatedAt ASC, t.id ASC")
+    List<TaskDTO> findTaskDTOsChangedBetweenForUser(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                                    @Param("afterId") Long afterId, @Param("until") LocalDateTime until,
+                                                    Pageable pageable);
     
-    // Find tasks with high priority for a specific user
-    List<Task> findByUserIdAndPriorityOrderByCreatedAtDesc(Long userId, TaskPriority priority);
+    // Stream all tasks in id order without materializing the result set; a full export
+    // bypasses the second-level cache so it does not evict the cached working set
+    @Query("SELECT t FROM Task t JOIN FETCH t.user ORDER BY t.id ASC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Task> streamAllOrderById();
 }
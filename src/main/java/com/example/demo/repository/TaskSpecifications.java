@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Composable filters for TaskRepository.findAll(Specification, Pageable); a null
+// argument yields a null specification, which Spring Data treats as "no filter"
+public final class TaskSpecifications {
+    
+    private TaskSpecifications() {
+    }
+    
+    // Tasks matching every non-null filter
+    public static Specification<Task> matching(Long userId, TaskStatus status, TaskPriority priority,
+                                               LocalDateTime dueFrom, LocalDateTime dueBefore) {
+        return Specification.allOf(hasUser(userId), hasStatus(status), hasPriority(priority),
+                dueOnOrAfter(dueFrom), dueBefore(dueBefore));
+    }
+    
+    public static Specification<Task> hasUser(Long userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+    
+    public static Specification<Task> dueOnOrAfter(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+    
+    public static Specification<Task> dueBefore(LocalDateTime before) {
+        return before == null ? null : (root, query, cb) -> cb.lessThan(root.get("dueDate"), before);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    // Tombstones after the (deletedAt, taskId) cursor and before the upper bound, oldest first
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.deletedAt >= :since AND tt.deletedAt < :until "
+            + "AND (tt.deletedAt > :since OR tt.taskId > :afterId) ORDER BY tt.deletedAt, tt.taskId")
+    List<TaskTombstone> findDeletedBetween(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                           @Param("until") LocalDateTime until, Pageable pageable);
+    
+    // Same as findDeletedBetween for one user's tasks
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.userId = :userId AND tt.deletedAt >= :since "
+            + "AND tt.deletedAt < :until AND (tt.deletedAt > :since OR tt.taskId > :afterId) "
+            + "ORDER BY tt.deletedAt, tt.taskId")
+    List<TaskTombstone> findDeletedBetweenForUser(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                                  @Param("afterId") Long afterId, @Param("until") LocalDateTime until,
+                                                  Pageable pageable);
+    
+    // Tombstones for every task of a user, written before the user (and by cascade its tasks) is deleted
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, deletedAt) "
+            + "SELECT t.id, t.user.id, :deletedAt FROM Task t WHERE t.user.id = :userId")
+    int insertForUserTasks(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
+    
+    // Drop tombstones older than the retention cutoff
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,7 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserSummaryDTO;
 import com.example.demo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,24 +14,31 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
-    // Find by username (case insensitive)
-    Optional<User> findByUsernameIgnoreCase(String username);
+    // Find by lowercase username (see User.normalizeKey)
+    Optional<User> findByUsernameLc(String usernameLc);
     
-    // Find by email (case insensitive)
-    Optional<User> findByEmailIgnoreCase(String email);
+    // Find by lowercase email (see User.normalizeKey)
+    Optional<User> findByEmailLc(String emailLc);
     
-    // Check if username exists
-    boolean existsByUsernameIgnoreCase(String username);
+    // Check if lowercase username exists
+    boolean existsByUsernameLc(String usernameLc);
     
-    // Check if email exists
-    boolean existsByEmailIgnoreCase(String email);
+    // Check if lowercase email exists
+    boolean existsByEmailLc(String emailLc);
     
     // Find users by full name containing (case insensitive)
     List<User> findByFullNameContainingIgnoreCase(String fullName);
     
-    // Custom query to find users with task count
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.tasks")
-    List<User> findAllWithTasks();
+    // User DTOs with task counts from a single grouped query, without loading any tasks
+    @Query("SELECT new com.example.demo.dto.UserDTO(u.id, u.username, u.email, u.fullName, u.createdAt, u.updatedAt, COUNT(t)) "
+            + "FROM User u LEFT JOIN u.tasks t "
+            + "GROUP BY u.id, u.username, u.email, u.fullName, u.createdAt, u.updatedAt "
+            + "ORDER BY u.id")
+    List<UserDTO> findAllWithTaskCounts();
+    
+    // Id, username, email and name of every user, for loading the user directory
+    @Query("SELECT new com.example.demo.dto.UserSummaryDTO(u.id, u.username, u.email, u.fullName) FROM User u")
+    List<UserSummaryDTO> findAllSummaries();
     
     // Custom query to find users by task status
     @Query("SELECT DISTINCT u FROM User u JOIN u.tasks t WHERE t.status = :status")
@@ -0,0 +1,60 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DashboardSummaryDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DashboardService {
+    
+    private final TaskService taskService;
+    private final long ttlNanos;
+    
+    // Only one thread reloads an expired snapshot; the others keep serving the old one
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    
+    @Autowired
+    public DashboardService(TaskService taskService,
+                            @Value("${app.dashboard.cache-ttl:5s}") Duration ttl) {
+        this.taskService = taskService;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    // Get the dashboard summary, reloading it at most once per TTL
+    public DashboardSummaryDTO getSummary() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(ttlNanos)) {
+            return current.summary();
+        }
+        
+        if (current != null) {
+            if (!refreshLock.tryLock()) {
+                return current.summary();
+            }
+        } else {
+            refreshLock.lock();
+        }
+        
+        try {
+            current = snapshot;
+            if (current == null || current.isExpired(ttlNanos)) {
+                current = new Snapshot(taskService.getDashboardSummary(), System.nanoTime());
+                snapshot = current;
+            }
+            return current.summary();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    private record Snapshot(DashboardSummaryDTO summary, long loadedAt) {
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+// Rebuilds what the services keep current from their change events: task counters, the
+// search index, the user directory and the read caches. For bulk loads that write rows
+// directly, so that no events are published.
+@Component
+public class DerivedStateRebuilder {
+    
+    private final TaskCounterRegistry taskCounterRegistry;
+    private final TaskSearchIndex taskSearchIndex;
+    private final UserDirectory userDirectory;
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public DerivedStateRebuilder(TaskCounterRegistry taskCounterRegistry, TaskSearchIndex taskSearchIndex,
+                                 UserDirectory userDirectory, CacheManager cacheManager) {
+        this.taskCounterRegistry = taskCounterRegistry;
+        this.taskSearchIndex = taskSearchIndex;
+        this.userDirectory = userDirectory;
+        this.cacheManager = cacheManager;
+    }
+    
+    public void rebuildDerivedState() {
+        taskCounterRegistry.reconcile();
+        taskSearchIndex.rebuild();
+        userDirectory.reload();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
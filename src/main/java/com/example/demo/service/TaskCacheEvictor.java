@@ -0,0 +1,148 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.event.TaskStatusBulkChangedEvent;
+import com.example.demo.event.UserChangedEvent;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Evicts exactly the TaskService read cache entries a change can affect: the old and new
+// status and priority lists, the owner's high-priority list and the overdue list. Each change evicts twice, just before
+// and just after commit, so reads in between cannot keep the old rows. A read whose query
+// ran before the commit can still store the old rows after both evictions; the
+// expireAfterWrite in the cache specs bounds how long they stay.
+@Component
+public class TaskCacheEvictor {
+    
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public TaskCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeTaskChangeCommits(TaskChangedEvent event) {
+        evict(event);
+    }
+    
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeTaskStatusBulkChangeCommits(TaskStatusBulkChangedEvent event) {
+        evict(event);
+    }
+    
+    @TransactionalEventListener
+    public void onTaskStatusBulkChanged(TaskStatusBulkChangedEvent event) {
+        evict(event);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeUserChangeCommits(UserChangedEvent event) {
+        evict(event);
+    }
+    
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event);
+    }
+    
+    private void evict(TaskChangedEvent event) {
+        evict(event.getBefore());
+        evict(event.getAfter());
+        if (hasDueDate(event.getBefore()) || hasDueDate(event.getAfter())) {
+            evictOverdue();
+        }
+    }
+    
+    private void evict(TaskStatusBulkChangedEvent event) {
+        evictStatus(event.getStatus());
+        for (TaskStatusBulkChangedEvent.Group group : event.getGroups()) {
+            evictStatus(group.previousStatus());
+            evictPriority(group.priority());
+            evictHighPriority(group.userId(), group.priority());
+        }
+        evictOverdue();
+    }
+    
+    // Cached lists carry the owner's name, and a deleted user's tasks leave them;
+    // only lists holding one of the user's tasks are affected
+    private void evict(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.CREATED) {
+            return;
+        }
+        Long userId = event.getUserId();
+        evictKey(CacheConfig.HIGH_PRIORITY_TASK_DTOS_BY_USER, userId);
+        for (String name : List.of(CacheConfig.TASK_DTOS_BY_STATUS, CacheConfig.TASK_DTOS_BY_PRIORITY,
+                                   CacheConfig.OVERDUE_TASK_DTOS)) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                cache.getNativeCache().asMap().values().removeIf(tasks -> ownsAny(tasks, userId));
+            }
+        }
+    }
+    
+    private void evict(TaskChangedEvent.TaskState state) {
+        if (state == null) {
+            return;
+        }
+        evictStatus(state.status());
+        evictPriority(state.priority());
+        evictHighPriority(state.userId(), state.priority());
+    }
+    
+    private static boolean hasDueDate(TaskChangedEvent.TaskState state) {
+        return state != null && state.dueDate() != null;
+    }
+    
+    private static boolean ownsAny(Object cached, Long userId) {
+        return cached instanceof List<?> tasks
+                && tasks.stream().anyMatch(task -> task instanceof TaskDTO dto && userId.equals(dto.getUserId()));
+    }
+    
+    private void evictStatus(TaskStatus status) {
+        evictKey(CacheConfig.TASK_DTOS_BY_STATUS, status);
+    }
+    
+    private void evictPriority(TaskPriority priority) {
+        evictKey(CacheConfig.TASK_DTOS_BY_PRIORITY, priority);
+    }
+    
+    private void evictHighPriority(Long userId, TaskPriority priority) {
+        if (priority == TaskPriority.HIGH) {
+            evictKey(CacheConfig.HIGH_PRIORITY_TASK_DTOS_BY_USER, userId);
+        }
+    }
+    
+    private void evictOverdue() {
+        clear(CacheConfig.OVERDUE_TASK_DTOS);
+    }
+    
+    private void evictKey(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+    
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TaskChangesDTO;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.model.TaskTombstone;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Delta sync feed: tasks changed since a cursor, from the updated_at indexes, plus
+// ids of deleted tasks from their tombstones
+@Service
+@Transactional
+public class TaskChangesService {
+    
+    public static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+    
+    @Autowired
+    public TaskChangesService(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                              @Value("${app.task-changes.settle-window:5s}") Duration settleWindow,
+                              @Value("${app.task-changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+    
+    // Get changes after the (since, afterId) cursor, oldest first. Only changes older than
+    // the settle window are returned: updatedAt is stamped at flush, so a transaction still
+    // committing could otherwise show up behind a cursor the client has already passed.
+    @Transactional(readOnly = true)
+    public TaskChangesDTO findChanges(LocalDateTime since, Long afterId, Long userId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        long cursorId = afterId != null ? afterId : 0L;
+        LocalDateTime until = LocalDateTime.now().minus(settleWindow);
+        if (!until.isAfter(since)) {
+            return new TaskChangesDTO(List.of(), List.of(), since, cursorId, false);
+        }
+        
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<TaskDTO> updated = userId != null
+                ? taskRepository.findTaskDTOsChangedBetweenForUser(userId, since, cursorId, until, page)
+                : taskRepository.findTaskDTOsChangedBetween(since, cursorId, until, page);
+        List<TaskTombstone> tombstones = userId != null
+                ? taskTombstoneRepository.findDeletedBetweenForUser(userId, since, cursorId, until, page)
+                : taskTombstoneRepository.findDeletedBetween(since, cursorId, until, page);
+        
+        // Both lists follow the same cursor, so merge them in (time, id) order and keep the
+        // first pageSize rows; a deleted task has no row left in tasks, so the two never tie
+        int updates = 0;
+        int deletions = 0;
+        LocalDateTime lastAt = since;
+        long lastId = cursorId;
+        while (updates + deletions < pageSize && (updates < updated.size() || deletions < tombstones.size())) {
+            if (deletions == tombstones.size()
+                    || (updates < updated.size() && isBefore(updated.get(updates), tombstones.get(deletions)))) {
+                TaskDTO update = updated.get(updates++);
+                lastAt = update.getUpdatedAt();
+                lastId = update.getId();
+            } else {
+                TaskTombstone tombstone = tombstones.get(deletions++);
+                lastAt = tombstone.getDeletedAt();
+                lastId = tombstone.getTaskId();
+            }
+        }
+        List<TaskDTO> pageUpdated = updated.subList(0, updates);
+        List<Long> pageDeleted = tombstones.subList(0, deletions).stream().map(TaskTombstone::getTaskId).toList();
+        
+        // A full page resumes after its last row; otherwise everything before until has been seen
+        if (updates + deletions == pageSize) {
+            return new TaskChangesDTO(pageUpdated, pageDeleted, lastAt, lastId, true);
+        }
+        return new TaskChangesDTO(pageUpdated, pageDeleted, until, 0L, false);
+    }
+    
+    private static boolean isBefore(TaskDTO update, TaskTombstone tombstone) {
+        int byTime = update.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime != 0 ? byTime < 0 : update.getId() < tombstone.getTaskId();
+    }
+    
+    // Oldest "since" the feed can answer completely; older cursors may have missed purged tombstones
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LocalDateTime getRetainedSince() {
+        return LocalDateTime.now().minus(tombstoneRetention);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.task-changes.purge-interval:PT1H}")
+    public void purgeTombstones() {
+        taskTombstoneRepository.deleteOlderThan(getRetainedSince());
+    }
+}
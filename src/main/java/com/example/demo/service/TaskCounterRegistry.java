@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.event.TaskStatusBulkChangedEvent;
+import com.example.demo.event.UserChangedEvent;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory task and user counters, kept current from committed change events
+// and periodically reconciled with the database to correct any drift
+@Component
+public class TaskCounterRegistry {
+    
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    
+    private final ConcurrentHashMap<CounterKey, LongAdder> tasks = new ConcurrentHashMap<>();
+    private final LongAdder users = new LongAdder();
+    
+    // Deltas share the read lock; corrections take the write lock so no delta lands halfway through one
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // One reconcile pass at a time. Held across the count queries, so a ReentrantLock rather
+    // than a monitor, which would pin a virtual thread's carrier for the JDBC round trips
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    
+    // Exact keys changed while a reconcile pass runs, or null outside a pass
+    private volatile Set<CounterKey> touched;
+    private volatile boolean usersTouched;
+    
+    @Autowired
+    public TaskCounterRegistry(TaskRepository taskRepository, UserRepository userRepository) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+    }
+    
+    // Count tasks matching the given user, status and priority; null matches any value
+    public long countTasks(Long userId, TaskStatus status, TaskPriority priority) {
+        LongAdder counter = tasks.get(new CounterKey(userId, status, priority));
+        return counter != null ? counter.sum() : 0L;
+    }
+    
+    // Count all users
+    public long countUsers() {
+        return users.sum();
+    }
+    
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangedEvent.TaskState before = event.getBefore();
+        TaskChangedEvent.TaskState after = event.getAfter();
+        lock.readLock().lock();
+        try {
+            if (before != null) {
+                addTask(before.userId(), before.status(), before.priority(), -1);
+            }
+            if (after != null) {
+                addTask(after.userId(), after.status(), after.priority(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onTaskStatusBulkChanged(TaskStatusBulkChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            for (TaskStatusBulkChangedEvent.Group group : event.getGroups()) {
+                addTask(group.userId(), group.previousStatus(), group.priority(), -group.count());
+                addTask(group.userId(), event.getStatus(), group.priority(), group.count());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> addUsers(1);
+            case DELETED -> removeUser(event.getUserId());
+            default -> { }
+        }
+    }
+    
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+    
+    // Compare exact counters with grouped database counts and apply the difference. Keys that
+    // change while the counts are read may or may not be in them, so those wait for the next pass.
+    @Scheduled(fixedDelayString = "${app.counters.reconcile-interval:PT5M}",
+               initialDelayString = "${app.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileOnce();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+    
+    private void reconcileOnce() {
+        touched = ConcurrentHashMap.newKeySet();
+        usersTouched = false;
+        try {
+            Map<CounterKey, Long> counted = new HashMap<>();
+            for (Object[] row : taskRepository.countTasksGroupedByUserStatusAndPriority()) {
+                counted.put(new CounterKey((Long) row[0], (TaskStatus) row[1], (TaskPriority) row[2]), (Long) row[3]);
+            }
+            long userCount = userRepository.count();
+            
+            lock.writeLock().lock();
+            try {
+                Set<CounterKey> keys = new HashSet<>(counted.keySet());
+                for (CounterKey key : tasks.keySet()) {
+                    if (key.isExact()) {
+                        keys.add(key);
+                    }
+                }
+                for (CounterKey key : keys) {
+                    long drift = counted.getOrDefault(key, 0L) - countTasks(key.userId(), key.status(), key.priority());
+                    if (drift != 0 && !touched.contains(key)) {
+                        addTask(key.userId(), key.status(), key.priority(), drift);
+                    }
+                }
+                if (!usersTouched) {
+                    users.add(userCount - users.sum());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            touched = null;
+        }
+    }
+    
+    // Take a deleted user's tasks out of every rollup and drop the user's own keys
+    private void removeUser(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Set<CounterKey> changing = touched;
+            for (Map.Entry<CounterKey, LongAdder> entry : tasks.entrySet()) {
+                CounterKey key = entry.getKey();
+                if (key.isExact() && key.userId().equals(userId)) {
+                    if (changing != null) {
+                        changing.add(key);
+                    }
+                    addTask(null, key.status(), key.priority(), -entry.getValue().sum());
+                }
+            }
+            tasks.keySet().removeIf(key -> userId.equals(key.userId()));
+            addUsers(-1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void addUsers(long delta) {
+        usersTouched = true;
+        users.add(delta);
+    }
+    
+    // Apply a delta to the exact key and to every wildcard rollup that contains it
+    private void addTask(Long userId, TaskStatus status, TaskPriority priority, long delta) {
+        Set<CounterKey> changing = touched;
+        if (changing != null && userId != null) {
+            changing.add(new CounterKey(userId, status, priority));
+        }
+        Long[] userIds = userId != null ? new Long[] {userId, null} : new Long[] {null};
+        TaskStatus[] statuses = {status, null};
+        TaskPriority[] priorities = {priority, null};
+        for (Long userKey : userIds) {
+            for (TaskStatus statusKey : statuses) {
+                for (TaskPriority priorityKey : priorities) {
+                    tasks.computeIfAbsent(new CounterKey(userKey, statusKey, priorityKey), key -> new LongAdder())
+                            .add(delta);
+                }
+            }
+        }
+    }
+    
+    // Counter key; a null component is a wildcard rolled up over all its values
+    private record CounterKey(Long userId, TaskStatus status, TaskPriority priority) {
+        
+        boolean isExact() {
+            return userId != null && status != null && priority != null;
+        }
+    }
+}
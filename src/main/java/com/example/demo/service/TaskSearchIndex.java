@@ -0,0 +1,298 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.event.UserChangedEvent;
+import com.example.demo.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory Lucene index over task titles and descriptions, built from the
+// database at startup and kept in sync from committed task and user change events
+@Component
+public class TaskSearchIndex {
+    
+    static final String ID = "id";
+    static final String USER_ID = "user_id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    
+    // Deepest hit a search may page to, bounding the size of the collector
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    
+    // Title matches rank above description matches in combined searches
+    private static final Map<String, Float> COMBINED_FIELD_WEIGHTS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f);
+    
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private volatile Index index;
+    
+    // Writes and searches share the read lock; a rebuild takes the write lock to swap indexes
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    
+    // One rebuild at a time; it streams the whole table while holding this, so not a monitor,
+    // which would keep a virtual thread pinned to its carrier for the duration
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    // Writes made while a rebuild reads the database, replayed onto the new index before it goes live
+    private Queue<IndexUpdate> replay;
+    
+    // Set by writes, cleared by the next search; batch writes then cost one reader refresh
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    
+    @Autowired
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.index = Index.open(analyzer);
+    }
+    
+    // Search title and description together
+    public Hits search(String text, int page, int size) {
+        return search(text, COMBINED_FIELD_WEIGHTS, page, size);
+    }
+    
+    // Search a single field (TITLE or DESCRIPTION)
+    public Hits searchField(String field, String text, int page, int size) {
+        return search(text, Map.of(field, 1.0f), page, size);
+    }
+    
+    // Index every task into a new index and swap it in; the live index keeps serving until then.
+    // Meant for startup and bulk loads that bypass the services, not for routine changes.
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildOnce();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private void rebuildOnce() {
+        Queue<IndexUpdate> missed = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            replay = missed;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        
+        Index fresh = Index.open(analyzer);
+        Index old;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskRepository.streamSearchableFields()) {
+                    rows.forEach(row -> add(fresh, (Long) row[0], (Long) row[1], (String) row[2], (String) row[3]));
+                }
+            });
+            swapLock.writeLock().lock();
+            try {
+                // Updates and deletes are keyed by term, so replaying one the rows already reflect is harmless
+                for (IndexUpdate update : missed) {
+                    update.apply(fresh.writer());
+                }
+                // Its reader was opened over an empty writer; make the rows searchable before publishing it
+                fresh.refresh();
+                old = index;
+                index = fresh;
+            } finally {
+                replay = null;
+                swapLock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            fresh.closeQuietly();
+            throw new UncheckedIOException("Could not rebuild task search index", e);
+        } catch (RuntimeException e) {
+            fresh.closeQuietly();
+            throw e;
+        }
+        old.closeQuietly();
+    }
+    
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangedEvent.TaskState after = event.getAfter();
+        if (after != null) {
+            Document document = toDocument(after.taskId(), after.userId(), after.title(), after.description());
+            write(writer -> writer.updateDocument(new Term(ID, String.valueOf(after.taskId())), document));
+        } else {
+            write(writer -> writer.deleteDocuments(new Term(ID, String.valueOf(event.getTaskId()))));
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.DELETED) {
+            write(writer -> writer.deleteDocuments(new Term(USER_ID, String.valueOf(event.getUserId()))));
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        index.closeQuietly();
+    }
+    
+    // Add a document to the live index without refreshing readers; call refresh() once the batch is done
+    void add(Long id, Long userId, String title, String description) {
+        add(index, id, userId, title, description);
+    }
+    
+    // Make all writes so far visible to searches
+    void refresh() {
+        index.refresh();
+    }
+    
+    private void write(IndexUpdate update) {
+        swapLock.readLock().lock();
+        try {
+            update.apply(index.writer());
+            if (replay != null) {
+                replay.add(update);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update task search index", e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        dirty.set(true);
+    }
+    
+    private static void add(Index target, Long id, Long userId, String title, String description) {
+        try {
+            target.writer().addDocument(toDocument(id, userId, title, description));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not add task to search index", e);
+        }
+    }
+    
+    private Hits search(String text, Map<String, Float> fieldWeights, int page, int size) {
+        if (text == null || text.isBlank() || (long) page * size + size > MAX_RESULT_WINDOW) {
+            return new Hits(List.of(), 0);
+        }
+        
+        if (dirty.getAndSet(false)) {
+            refresh();
+        }
+        
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, fieldWeights);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        
+        try {
+            SearcherManager searcherManager;
+            IndexSearcher searcher;
+            swapLock.readLock().lock();
+            try {
+                searcherManager = index.searcherManager();
+                searcher = searcherManager.acquire();
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            try {
+                int offset = page * size;
+                // Count every match rather than stopping at Lucene's default 1000, since the total drives paging
+                TopDocs topDocs = searcher.search(query, new TopScoreDocCollectorManager(offset + size, null, Integer.MAX_VALUE));
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDocs[i].doc).get(ID)));
+                }
+                return new Hits(ids, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search task index", e);
+        }
+    }
+    
+    private static Document toDocument(Long id, Long userId, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new StringField(USER_ID, String.valueOf(userId), Field.Store.NO));
+        document.add(new TextField(TITLE, title != null ? title : "", Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        return document;
+    }
+    
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply(IndexWriter writer) throws IOException;
+    }
+    
+    // One Lucene index and the reader manager over it
+    private record Index(IndexWriter writer, SearcherManager searcherManager) {
+        
+        static Index open(Analyzer analyzer) {
+            try {
+                IndexWriter writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+                return new Index(writer, new SearcherManager(writer, null));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open task search index", e);
+            }
+        }
+        
+        void refresh() {
+            try {
+                searcherManager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not refresh task search index", e);
+            }
+        }
+        
+        // Searches still holding a reader keep it until they release it
+        void closeQuietly() {
+            try {
+                searcherManager.close();
+                writer.close();
+            } catch (IOException e) {
+                // In-memory directory; nothing left to recover
+            }
+        }
+    }
+    
+    // Task ids of one result page in relevance order, plus the exact number of matches
+    public record Hits(List<Long> ids, long totalHits) {
+    }
+}
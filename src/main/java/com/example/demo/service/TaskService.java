@@ -1,30 +1,98 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.DashboardSummaryDTO;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.dto.TaskVersionDTO;
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.event.TaskChangedEvent.TaskState;
+import com.example.demo.event.TaskStatusBulkChangedEvent;
 import com.example.demo.model.Task;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
+import com.example.demo.model.TaskTombstone;
 import com.example.demo.model.User;
 import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskSpecifications;
+import com.example.demo.repository.TaskTombstoneRepository;
 import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TaskService {
     
+    // Upper bound for a single keyset page
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    // Number of streamed tasks after which the persistence context is cleared
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+    
+    // Maximum number of user ids bound into a single statistics IN clause
+    private static final int STATISTICS_CHUNK_SIZE = 1000;
+    
+    // Upper bound for a single batch create request
+    public static final int MAX_BATCH_SIZE = 5000;
+    
+    // Inserts flushed per JDBC batch; matches hibernate.jdbc.batch_size
+    private static final int BATCH_FLUSH_SIZE = 50;
+    
+    // Upper bound for the ids of a single bulk status update
+    public static final int MAX_BULK_UPDATE_SIZE = 100_000;
+    
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final UserRepository userRepository;
+    private final TaskCounterRegistry taskCounterRegistry;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Autowired
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                       UserRepository userRepository, TaskCounterRegistry taskCounterRegistry,
+                       TaskSearchIndex taskSearchIndex, ApplicationEventPublisher eventPublisher, Validator validator) {
         this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
         this.userRepository = userRepository;
+        this.taskCounterRegistry = taskCounterRegistry;
+        this.taskSearchIndex = taskSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
     
     // Create a new task
@@ -38,7 +106,9 @@ public class TaskService {
             .orElseThrow(() -> new RuntimeException("User not found with id: " + task.getUser().getId()));
         
         task.setUser(user);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        return savedTask;
     }
     
     // Create a task for a specific user
@@ -47,7 +117,68 @@ public class TaskService {
             .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         
         Task task = new Task(title, description, priority, user);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        return savedTask;
+    }
+    
+    // Create many tasks at once: all users are checked with one IN query and
+    // valid tasks are inserted in JDBC batches; invalid items are reported, not thrown
+    public BatchResult createTasks(List<TaskDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Batch cannot contain more than " + MAX_BATCH_SIZE + " tasks");
+        }
+        
+        Set<Long> userIds = new HashSet<>();
+        for (TaskDTO request : requests) {
+            if (request.getUserId() != null) {
+                userIds.add(request.getUserId());
+            }
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        
+        BatchResult result = new BatchResult();
+        List<Task> pending = new ArrayList<>(BATCH_FLUSH_SIZE);
+        for (int i = 0; i < requests.size(); i++) {
+            TaskDTO request = requests.get(i);
+            if (request.getUserId() == null) {
+                result.addError(i, "Task must be associated with a user");
+                continue;
+            }
+            User user = users.get(request.getUserId());
+            if (user == null) {
+                result.addError(i, "User not found with id: " + request.getUserId());
+                continue;
+            }
+            
+            Task task = new Task(request.getTitle(), request.getDescription(), user);
+            if (request.getStatus() != null) {
+                task.setStatus(request.getStatus());
+            }
+            if (request.getPriority() != null) {
+                task.setPriority(request.getPriority());
+            }
+            task.setDueDate(request.getDueDate());
+            
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                result.addError(i, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            
+            pending.add(task);
+            if (pending.size() == BATCH_FLUSH_SIZE) {
+                insertBatch(pending, result);
+            }
+        }
+        insertBatch(pending, result);
+        return result;
     }
     
     // Find task by ID
@@ -62,6 +193,39 @@ public class TaskService {
         return taskRepository.findAll();
     }
     
+    // Get a keyset page of tasks ordered by id, starting after the given id
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return taskRepository.findTaskDTOsAfter(afterId != null ? afterId : 0L, PageRequest.of(0, pageSize));
+    }
+    
+    // Find one page of tasks matching the given filters; null filters match any value
+    // and the due range is [dueFrom, dueBefore)
+    @Transactional(readOnly = true)
+    public Page<Task> findTasks(Long userId, TaskStatus status, TaskPriority priority,
+                                LocalDateTime dueFrom, LocalDateTime dueBefore,
+                                int page, int size, Sort sort) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), sort);
+        return taskRepository.findAll(
+                TaskSpecifications.matching(userId, status, priority, dueFrom, dueBefore), pageable);
+    }
+    
+    // Visit every task in id order without holding the whole table in memory
+    @Transactional(readOnly = true)
+    public void forEachTask(Consumer<Task> action) {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderById()) {
+            Iterator<Task> iterator = tasks.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
     // Get tasks by user
     @Transactional(readOnly = true)
     public List<Task> findByUser(Long userId) {
@@ -92,18 +256,67 @@ public class TaskService {
         return taskRepository.findOverdueTasks(LocalDateTime.now());
     }
     
-    // Get high priority tasks for a user
+    // Get task DTOs by user
     @Transactional(readOnly = true)
-    public List<Task> findHighPriorityTasksByUser(Long userId) {
-        return taskRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(userId, TaskPriority.HIGH);
+    public List<TaskDTO> findDTOsByUser(Long userId) {
+        return taskRepository.findTaskDTOsByUserId(userId);
+    }
+    
+    // Get task DTOs by status (cached)
+    @Cacheable(CacheConfig.TASK_DTOS_BY_STATUS)
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findDTOsByStatus(TaskStatus status) {
+        return List.copyOf(taskRepository.findTaskDTOsByStatus(status));
+    }
+    
+    // Get task DTOs by priority (cached)
+    @Cacheable(CacheConfig.TASK_DTOS_BY_PRIORITY)
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findDTOsByPriority(TaskPriority priority) {
+        return List.copyOf(taskRepository.findTaskDTOsByPriority(priority));
+    }
+    
+    // Get task DTOs by user and status
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findDTOsByUserAndStatus(Long userId, TaskStatus status) {
+        return taskRepository.findTaskDTOsByUserIdAndStatus(userId, status);
+    }
+    
+    // Get overdue task DTOs (cached briefly, since tasks become overdue without a write)
+    @Cacheable(CacheConfig.OVERDUE_TASK_DTOS)
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findOverdueTaskDTOs() {
+        return List.copyOf(taskRepository.findOverdueTaskDTOs(LocalDateTime.now()));
+    }
+    
+    // Get the version stamp of a task for conditional GETs, without loading it
+    @Transactional(readOnly = true)
+    public TaskVersionDTO getTaskVersion(Long taskId) {
+        return taskRepository.getTaskVersion(taskId);
+    }
+    
+    // Get the version stamp of a user's task list for conditional GETs, without loading it
+    @Transactional(readOnly = true)
+    public TaskVersionDTO getUserTasksVersion(Long userId) {
+        return taskRepository.getUserTasksVersion(userId);
+    }
+    
+    // Get high priority task DTOs for a user, newest first (cached per user)
+    @Cacheable(CacheConfig.HIGH_PRIORITY_TASK_DTOS_BY_USER)
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findHighPriorityTaskDTOsByUser(Long userId) {
+        return List.copyOf(taskRepository.findTaskDTOsByUserIdAndPriority(userId, TaskPriority.HIGH));
     }
     
     // Update task
     public Task updateTask(Task task) {
-        if (!taskRepository.existsById(task.getId())) {
-            throw new RuntimeException("Task not found with id: " + task.getId());
-        }
-        return taskRepository.save(task);
+        Task existingTask = taskRepository.findById(task.getId())
+            .orElseThrow(() -> new RuntimeException("Task not found with id: " + task.getId()));
+        
+        TaskState before = TaskState.of(existingTask);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        return savedTask;
     }
     
     // Update task status
@@ -111,8 +324,11 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
             .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
         
+        TaskState before = TaskState.of(task);
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        return savedTask;
     }
     
     // Update task priority
@@ -120,8 +336,11 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
             .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
         
+        TaskState before = TaskState.of(task);
         task.setPriority(priority);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        return savedTask;
     }
     
     // Set task due date
@@ -129,8 +348,35 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
             .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
         
+        TaskState before = TaskState.of(task);
         task.setDueDate(dueDate);
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        return savedTask;
+    }
+    
+    // Move the given tasks to a new status with bulk UPDATEs, without loading them as entities;
+    // returns the number of tasks that actually changed
+    public int updateStatusForIds(Collection<Long> ids, TaskStatus status) {
+        if (ids.size() > MAX_BULK_UPDATE_SIZE) {
+            throw new RuntimeException("Bulk update cannot contain more than " + MAX_BULK_UPDATE_SIZE + " tasks");
+        }
+        
+        List<Long> idList = new ArrayList<>(ids);
+        List<Object[]> rows = new ArrayList<>();
+        for (int from = 0; from < idList.size(); from += STATISTICS_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + STATISTICS_CHUNK_SIZE, idList.size()));
+            rows.addAll(taskRepository.lockForStatusChangeByIdIn(chunk, status));
+        }
+        return applyBulkStatusChange(status, rows);
+    }
+    
+    // Move every task in currentStatus (optionally only one user's) to a new status
+    public int updateStatusByFilter(Long userId, TaskStatus currentStatus, TaskStatus status) {
+        if (currentStatus == status) {
+            return 0;
+        }
+        return applyBulkStatusChange(status, taskRepository.lockForStatusChangeByFilter(userId, currentStatus));
     }
     
     // Complete a task
@@ -140,22 +386,37 @@ public class TaskService {
     
     // Delete task
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+        Task task = taskRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        
+        TaskState before = TaskState.of(task);
+        taskRepository.delete(task);
+        // Lets delta sync clients (GET /api/tasks/changes) drop the task
+        taskTombstoneRepository.save(new TaskTombstone(id, before.userId(), LocalDateTime.now()));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(before));
     }
     
-    // Search tasks by title
+    // Full-text search over title and description, ranked by relevance
     @Transactional(readOnly = true)
-    public List<Task> searchByTitle(String title) {
-        return taskRepository.findByTitleContainingIgnoreCase(title);
+    public Page<TaskDTO> search(String text, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        TaskSearchIndex.Hits hits = taskSearchIndex.search(text, pageable.getPageNumber(), pageable.getPageSize());
+        List<TaskDTO> tasks = inHitOrder(hits.ids(), taskRepository.findTaskDTOsByIdIn(hits.ids()), TaskDTO::getId);
+        return new PageImpl<>(tasks, pageable, hits.totalHits());
     }
     
-    // Search tasks by description
+    // Search tasks by title (best matches first)
     @Transactional(readOnly = true)
-    public List<Task> searchByDescription(String description) {
-        return taskRepository.findByDescriptionContainingIgnoreCase(description);
+    public List<TaskDTO> searchByTitle(String title) {
+        TaskSearchIndex.Hits hits = taskSearchIndex.searchField(TaskSearchIndex.TITLE, title, 0, MAX_PAGE_SIZE);
+        return inHitOrder(hits.ids(), taskRepository.findTaskDTOsByIdIn(hits.ids()), TaskDTO::getId);
+    }
+    
+    // Search tasks by description (best matches first)
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchByDescription(String description) {
+        TaskSearchIndex.Hits hits = taskSearchIndex.searchField(TaskSearchIndex.DESCRIPTION, description, 0, MAX_PAGE_SIZE);
+        return inHitOrder(hits.ids(), taskRepository.findTaskDTOsByIdIn(hits.ids()), TaskDTO::getId);
     }
     
     // Get tasks due within a date range
@@ -164,22 +425,146 @@ public class TaskService {
         return taskRepository.findTasksDueBetween(startDate, endDate);
     }
     
-    // Get task statistics for a user
-    @Transactional(readOnly = true)
+    // Get task statistics for a user (served from in-memory counters)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getTaskCountByUserAndStatus(Long userId, TaskStatus status) {
-        return taskRepository.countTasksByUserIdAndStatus(userId, status);
+        return taskCounterRegistry.countTasks(userId, status, null);
+    }
+    
+    // Get the number of tasks owned by a user (served from in-memory counters)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long getTaskCountByUser(Long userId) {
+        return taskCounterRegistry.countTasks(userId, null, null);
+    }
+    
+    // Get user and task totals for the dashboard in one query
+    @Transactional(readOnly = true)
+    public DashboardSummaryDTO getDashboardSummary() {
+        return taskRepository.getDashboardSummary(LocalDateTime.now());
     }
     
     // Get all task statistics for a user
     @Transactional(readOnly = true)
     public TaskStatistics getTaskStatisticsForUser(Long userId) {
-        long total = taskRepository.findByUserId(userId).size();
-        long pending = taskRepository.countTasksByUserIdAndStatus(userId, TaskStatus.PENDING);
-        long inProgress = taskRepository.countTasksByUserIdAndStatus(userId, TaskStatus.IN_PROGRESS);
-        long completed = taskRepository.countTasksByUserIdAndStatus(userId, TaskStatus.COMPLETED);
-        long cancelled = taskRepository.countTasksByUserIdAndStatus(userId, TaskStatus.CANCELLED);
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countTasksByStatusForUser(userId)) {
+            counts.put((TaskStatus) row[0], (Long) row[1]);
+        }
+        return TaskStatistics.fromCounts(counts);
+    }
+    
+    // Get task statistics for many users, one grouped query per chunk of ids
+    @Transactional(readOnly = true)
+    public Map<Long, TaskStatistics> getTaskStatisticsForUsers(Collection<Long> userIds) {
+        Map<Long, Map<TaskStatus, Long>> countsByUser = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            countsByUser.put(userId, new EnumMap<>(TaskStatus.class));
+        }
+        
+        List<Long> ids = new ArrayList<>(countsByUser.keySet());
+        for (int from = 0; from < ids.size(); from += STATISTICS_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STATISTICS_CHUNK_SIZE, ids.size()));
+            for (Object[] row : taskRepository.countTasksByStatusForUsers(chunk)) {
+                countsByUser.get((Long) row[0]).put((TaskStatus) row[1], (Long) row[2]);
+            }
+        }
+        
+        Map<Long, TaskStatistics> statistics = new LinkedHashMap<>();
+        countsByUser.forEach((userId, counts) -> statistics.put(userId, TaskStatistics.fromCounts(counts)));
+        return statistics;
+    }
+    
+    // Insert one JDBC batch and clear the persistence context so large requests stay flat in memory
+    private void insertBatch(List<Task> tasks, BatchResult result) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        for (Task task : tasks) {
+            result.created.add(new TaskDTO(task));
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        }
+        entityManager.clear();
+        tasks.clear();
+    }
+    
+    // Update exactly the rows a lockForStatusChange query returned and publish them grouped by user,
+    // previous status and priority. The row locks keep concurrent writers from changing those rows
+    // in between, so the event's groups match what the UPDATEs changed. The UPDATEs go by id rather
+    // than by filter, because a filter would also catch rows inserted after the lock.
+    private int applyBulkStatusChange(TaskStatus status, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<StatusChangeKey, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            counts.merge(new StatusChangeKey((Long) row[1], (TaskStatus) row[2], (TaskPriority) row[3]), 1L, Long::sum);
+        }
+        
+        int updated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += STATISTICS_CHUNK_SIZE) {
+            updated += taskRepository.updateStatusByIdIn(ids.subList(from, Math.min(from + STATISTICS_CHUNK_SIZE, ids.size())),
+                    status, now);
+        }
+        
+        List<TaskStatusBulkChangedEvent.Group> groups = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> groups.add(
+                new TaskStatusBulkChangedEvent.Group(key.userId(), key.status(), key.priority(), count)));
+        eventPublisher.publishEvent(new TaskStatusBulkChangedEvent(status, groups));
+        return updated;
+    }
+    
+    // Reorder rows loaded by id to match the ranked hit list, skipping ids that no longer exist
+    private static <T> List<T> inHitOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+    
+    // Grouping key for the tasks of a bulk status change
+    private record StatusChangeKey(Long userId, TaskStatus status, TaskPriority priority) {
+    }
+    
+    // Outcome of a batch create: the created tasks plus one error per rejected item
+    public static class BatchResult {
+        private final List<TaskDTO> created = new ArrayList<>();
+        private final List<BatchError> errors = new ArrayList<>();
+        
+        void addError(int index, String message) {
+            errors.add(new BatchError(index, message));
+        }
         
-        return new TaskStatistics(total, pending, inProgress, completed, cancelled);
+        // Getters
+        public List<TaskDTO> getCreated() { return created; }
+        public List<BatchError> getErrors() { return errors; }
+    }
+    
+    // Error for the item at the given position of a batch request
+    public static class BatchError {
+        private final int index;
+        private final String message;
+        
+        public BatchError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+        
+        // Getters
+        public int getIndex() { return index; }
+        public String getMessage() { return message; }
     }
     
     // Inner class for task statistics
@@ -198,6 +583,16 @@ public class TaskService {
             this.cancelled = cancelled;
         }
         
+        // Build statistics from per-status counts; missing statuses count as zero
+        public static TaskStatistics fromCounts(Map<TaskStatus, Long> counts) {
+            long pending = counts.getOrDefault(TaskStatus.PENDING, 0L);
+            long inProgress = counts.getOrDefault(TaskStatus.IN_PROGRESS, 0L);
+            long completed = counts.getOrDefault(TaskStatus.COMPLETED, 0L);
+            long cancelled = counts.getOrDefault(TaskStatus.CANCELLED, 0L);
+            return new TaskStatistics(pending + inProgress + completed + cancelled,
+                    pending, inProgress, completed, cancelled);
+        }
+        
         // Getters
         public long getTotal() { return total; }
         public long getPending() { return pending; }
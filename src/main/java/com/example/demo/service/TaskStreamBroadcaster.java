@@ -0,0 +1,244 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TaskStreamEventDTO;
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.event.TaskStatusBulkChangedEvent;
+import com.example.demo.event.UserChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+// Pushes committed task changes to Server-Sent Event subscribers. Each subscriber has a
+// bounded buffer drained by its own virtual thread, so a slow client never holds up the
+// publishing transaction or other subscribers.
+@Component
+public class TaskStreamBroadcaster {
+    
+    // Sent instead of buffered events when a subscriber fell too far behind, or after changes
+    // that carry no task ids; clients should catch up from GET /api/tasks/changes
+    public static final String RESYNC = "resync";
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int bufferSize;
+    private final Duration timeout;
+    
+    @Autowired
+    public TaskStreamBroadcaster(@Value("${app.task-stream.buffer-size:256}") int bufferSize,
+                                 @Value("${app.task-stream.timeout:PT30M}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+    
+    // Open a stream of changes to the given user's tasks, or to all tasks when userId is null
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(userId, emitter);
+        return emitter;
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskStreamEventDTO change = TaskStreamEventDTO.of(event);
+        // A reassigned task is sent to both owners' streams so the old owner sees it leave
+        Long previousUserId = event.getBefore() != null ? event.getBefore().userId() : null;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(change.getUserId()) || subscriber.wants(previousUserId)) {
+                subscriber.offer(change);
+            }
+        }
+    }
+    
+    // Bulk status updates only carry per-user counts, so affected streams resync
+    @TransactionalEventListener
+    public void onTaskStatusBulkChanged(TaskStatusBulkChangedEvent event) {
+        Set<Long> userIds = event.getGroups().stream()
+                .map(TaskStatusBulkChangedEvent.Group::userId)
+                .collect(Collectors.toSet());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.userId == null || userIds.contains(subscriber.userId)) {
+                subscriber.resync();
+            }
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() != UserChangedEvent.Type.DELETED) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(event.getUserId())) {
+                subscriber.resync();
+            }
+        }
+    }
+    
+    // Comment line that keeps idle connections open through proxies and detects closed clients
+    @Scheduled(fixedDelayString = "${app.task-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+    
+    Subscriber register(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+    
+    final class Subscriber implements Runnable {
+        private final Long userId;
+        private final SseEmitter emitter;
+        
+        // Undelivered changes by task id; a newer change to a queued task is merged into it
+        private final Map<Long, TaskStreamEventDTO> pending = new LinkedHashMap<>();
+        private boolean resyncPending;
+        private boolean heartbeatPending;
+        private boolean draining;
+        
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        boolean wants(Long taskUserId) {
+            return userId == null || userId.equals(taskUserId);
+        }
+        
+        // True when nothing is queued or being sent
+        synchronized boolean isIdle() {
+            return !draining;
+        }
+        
+        // Queue a change; past bufferSize distinct tasks the buffer is dropped for one resync
+        void offer(TaskStreamEventDTO change) {
+            synchronized (this) {
+                if (resyncPending) {
+                    return;
+                }
+                pending.merge(change.getTaskId(), change, TaskStreamEventDTO::coalesce);
+                if (pending.size() > bufferSize) {
+                    pending.clear();
+                    resyncPending = true;
+                }
+                if (!startDraining()) {
+                    return;
+                }
+            }
+            drain();
+        }
+        
+        void resync() {
+            synchronized (this) {
+                pending.clear();
+                resyncPending = true;
+                if (!startDraining()) {
+                    return;
+                }
+            }
+            drain();
+        }
+        
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatPending = true;
+                if (!startDraining()) {
+                    return;
+                }
+            }
+            drain();
+        }
+        
+        // Send until the buffer is empty; runs on at most one virtual thread per subscriber
+        @Override
+        public void run() {
+            while (true) {
+                List<TaskStreamEventDTO> batch;
+                boolean sendResync;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    if (pending.isEmpty() && !resyncPending && !heartbeatPending) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    sendResync = resyncPending;
+                    sendHeartbeat = heartbeatPending && batch.isEmpty() && !sendResync;
+                    resyncPending = false;
+                    heartbeatPending = false;
+                }
+                try {
+                    if (sendResync) {
+                        emitter.send(SseEmitter.event().name(RESYNC).data(Map.of("userId", userId != null ? userId : "all")));
+                    }
+                    for (TaskStreamEventDTO change : batch) {
+                        emitter.send(SseEmitter.event().name(change.getType()).data(change, MediaType.APPLICATION_JSON));
+                    }
+                    if (sendHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+        
+        // Caller holds the lock; true if the caller must now start the drain thread
+        private boolean startDraining() {
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+        
+        private void drain() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscribers.remove(this);
+            }
+        }
+    }
+}
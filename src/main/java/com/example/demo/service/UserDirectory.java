@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserSummaryDTO;
+import com.example.demo.event.UserChangedEvent;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory directory of all users keyed by id, lowercase username and lowercase
+// email, kept current from committed user change events and periodically reloaded
+@Component
+public class UserDirectory {
+    
+    private final UserRepository userRepository;
+    
+    // Serializes writers. A lock rather than synchronized: reload() holds it across a JDBC
+    // query, which would pin the carrier thread when running on virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private volatile Entries entries = new Entries();
+    
+    // Users ordered by full name for dropdowns, re-sorted on every change
+    private volatile List<UserSummaryDTO> sortedUsers = List.of();
+    
+    @Autowired
+    public UserDirectory(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    public Optional<UserSummaryDTO> findById(Long id) {
+        return id != null ? Optional.ofNullable(entries.byId.get(id)) : Optional.empty();
+    }
+    
+    public Optional<Long> findIdByUsername(String username) {
+        return username != null ? Optional.ofNullable(entries.idsByUsername.get(User.normalizeKey(username))) : Optional.empty();
+    }
+    
+    public Optional<Long> findIdByEmail(String email) {
+        return email != null ? Optional.ofNullable(entries.idsByEmail.get(User.normalizeKey(email))) : Optional.empty();
+    }
+    
+    // All users ordered by full name
+    public List<UserSummaryDTO> findAll() {
+        return sortedUsers;
+    }
+    
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        writeLock.lock();
+        try {
+            Entries current = entries;
+            current.remove(event.getUserId());
+            if (event.getAfter() != null) {
+                current.put(event.getAfter());
+            }
+            sortedUsers = current.sorted();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        reload();
+    }
+    
+    // Reload every entry from the database and swap them in at once; picks up
+    // changes made outside UserService
+    @Scheduled(fixedDelayString = "${app.user-directory.reload-interval:PT5M}",
+               initialDelayString = "${app.user-directory.reload-interval:PT5M}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            Entries reloaded = new Entries();
+            userRepository.findAllSummaries().forEach(reloaded::put);
+            entries = reloaded;
+            sortedUsers = reloaded.sorted();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private static class Entries {
+        private final Map<Long, UserSummaryDTO> byId = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+        
+        void put(UserSummaryDTO user) {
+            byId.put(user.getId(), user);
+            idsByUsername.put(User.normalizeKey(user.getUsername()), user.getId());
+            idsByEmail.put(User.normalizeKey(user.getEmail()), user.getId());
+        }
+        
+        List<UserSummaryDTO> sorted() {
+            return byId.values().stream()
+                    .sorted(Comparator.comparing(UserSummaryDTO::getFullName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                            .thenComparing(UserSummaryDTO::getId))
+                    .toList();
+        }
+        
+        void remove(Long id) {
+            UserSummaryDTO previous = byId.remove(id);
+            if (previous != null) {
+                idsByUsername.remove(User.normalizeKey(previous.getUsername()), id);
+                idsByEmail.remove(User.normalizeKey(previous.getEmail()), id);
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserSummaryDTO;
+import com.example.demo.event.UserChangedEvent;
 import com.example.demo.model.User;
+import com.example.demo.repository.TaskTombstoneRepository;
 import com.example.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,25 +21,37 @@ import java.util.Optional;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskCounterRegistry taskCounterRegistry;
+    private final UserDirectory userDirectory;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, TaskTombstoneRepository taskTombstoneRepository,
+                       TaskCounterRegistry taskCounterRegistry, UserDirectory userDirectory,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskCounterRegistry = taskCounterRegistry;
+        this.userDirectory = userDirectory;
+        this.eventPublisher = eventPublisher;
     }
     
     // Create a new user
     public User createUser(User user) {
         // Check if username already exists
-        if (userRepository.existsByUsernameIgnoreCase(user.getUsername())) {
+        if (userRepository.existsByUsernameLc(user.getUsernameLc())) {
             throw new RuntimeException("Username already exists: " + user.getUsername());
         }
         
         // Check if email already exists
-        if (userRepository.existsByEmailIgnoreCase(user.getEmail())) {
+        if (userRepository.existsByEmailLc(user.getEmailLc())) {
             throw new RuntimeException("Email already exists: " + user.getEmail());
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
+        return savedUser;
     }
     
     // Find user by ID
@@ -44,13 +63,13 @@ public class UserService {
     // Find user by username
     @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsernameIgnoreCase(username);
+        return userRepository.findByUsernameLc(User.normalizeKey(username));
     }
     
     // Find user by email
     @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email);
+        return userRepository.findByEmailLc(User.normalizeKey(email));
     }
     
     // Get all users
@@ -59,10 +78,16 @@ public class UserService {
         return userRepository.findAll();
     }
     
-    // Get all users with their tasks
+    // Get id, username, email and name of all users ordered by name (served from the user directory)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<UserSummaryDTO> findAllSummaries() {
+        return userDirectory.findAll();
+    }
+    
+    // Get all users as DTOs with task counts computed in the database
     @Transactional(readOnly = true)
-    public List<User> findAllWithTasks() {
-        return userRepository.findAllWithTasks();
+    public List<UserDTO> findAllWithTaskCounts() {
+        return userRepository.findAllWithTaskCounts();
     }
     
     // Update user
@@ -76,18 +101,20 @@ public class UserService {
         Optional<User> existingUser = userRepository.findById(user.getId());
         if (existingUser.isPresent()) {
             User currentUser = existingUser.get();
-            if (!currentUser.getUsername().equalsIgnoreCase(user.getUsername()) 
-                && userRepository.existsByUsernameIgnoreCase(user.getUsername())) {
+            if (!currentUser.getUsernameLc().equals(user.getUsernameLc()) 
+                && userRepository.existsByUsernameLc(user.getUsernameLc())) {
                 throw new RuntimeException("Username already exists: " + user.getUsername());
             }
             
-            if (!currentUser.getEmail().equalsIgnoreCase(user.getEmail()) 
-                && userRepository.existsByEmailIgnoreCase(user.getEmail())) {
+            if (!currentUser.getEmailLc().equals(user.getEmailLc()) 
+                && userRepository.existsByEmailLc(user.getEmailLc())) {
                 throw new RuntimeException("Email already exists: " + user.getEmail());
             }
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(savedUser));
+        return savedUser;
     }
     
     // Delete user
@@ -95,7 +122,10 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found with id: " + id);
         }
+        // The user's tasks go with it by cascade; leave tombstones for delta sync clients
+        taskTombstoneRepository.insertForUserTasks(id, LocalDateTime.now());
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
     }
     
     // Search users by full name
@@ -104,21 +134,21 @@ public class UserService {
         return userRepository.findByFullNameContainingIgnoreCase(fullName);
     }
     
-    // Check if username exists
-    @Transactional(readOnly = true)
+    // Check if username exists (served from the user directory)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean usernameExists(String username) {
-        return userRepository.existsByUsernameIgnoreCase(username);
+        return userDirectory.findIdByUsername(username).isPresent();
     }
     
-    // Check if email exists
-    @Transactional(readOnly = true)
+    // Check if email exists (served from the user directory)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean emailExists(String email) {
-        return userRepository.existsByEmailIgnoreCase(email);
+        return userDirectory.findIdByEmail(email).isPresent();
     }
     
-    // Get user statistics
-    @Transactional(readOnly = true)
+    // Get user statistics (served from in-memory counters)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getUserCount() {
-        return userRepository.count();
+        return taskCounterRegistry.countUsers();
     }
 }
@@ -0,0 +1,43 @@
+-- Users and tasks, matching the User and Task entities
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      VARCHAR(20)  NOT NULL,
+    priority    VARCHAR(20)  NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    due_date    TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL,
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- findByUserId, findByUserIdAndStatus, countTasksByUserIdAndStatus, per-user statistics
+CREATE INDEX idx_tasks_user_status ON tasks (user_id, status);
+
+-- findByUserIdAndPriorityOrderByCreatedAtDesc
+CREATE INDEX idx_tasks_user_priority_created ON tasks (user_id, priority, created_at);
+
+-- findByStatus and status-filtered due date lookups
+CREATE INDEX idx_tasks_status_due_date ON tasks (status, due_date);
+
+-- findByPriority
+CREATE INDEX idx_tasks_priority ON tasks (priority);
+
+-- findOverdueTasks (due_date range, status filtered) and findTasksDueBetween
+CREATE INDEX idx_tasks_due_date ON tasks (due_date);
@@ -0,0 +1,13 @@
+-- Lowercase copies of username and email, maintained by the User entity, so
+-- case-insensitive lookups and uniqueness checks are served by a unique index
+
+ALTER TABLE users ADD COLUMN username_lc VARCHAR(255);
+ALTER TABLE users ADD COLUMN email_lc VARCHAR(255);
+
+UPDATE users SET username_lc = LOWER(username), email_lc = LOWER(email);
+
+ALTER TABLE users ALTER COLUMN username_lc SET NOT NULL;
+ALTER TABLE users ALTER COLUMN email_lc SET NOT NULL;
+
+CREATE UNIQUE INDEX uk_users_username_lc ON users (username_lc);
+CREATE UNIQUE INDEX uk_users_email_lc ON users (email_lc);
@@ -0,0 +1,2 @@
+-- Per-user COUNT / MAX(updated_at) for conditional GETs on a user's task list
+CREATE INDEX idx_tasks_user_updated_at ON tasks (user_id, updated_at);
@@ -0,0 +1,13 @@
+-- Delta sync: changed tasks are found by updated_at, deleted tasks by their tombstones
+
+-- GET /api/tasks/changes without a user filter; (user_id, updated_at) serves the filtered form
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at, id);
+
+CREATE TABLE task_tombstones (
+    task_id     BIGINT       NOT NULL PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
+CREATE INDEX idx_task_tombstones_user_deleted_at ON task_tombstones (user_id, deleted_at);
@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.model.User;
+import com.example.demo.service.UserService;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+// Fixture for tests that need changes to really commit (no @Transactional): creates a user
+// through UserService before each test and deletes it, with its tasks, afterwards.
+// Register with @RegisterExtension on a @SpringBootTest class.
+public class CommittedUser implements BeforeEachCallback, AfterEachCallback {
+
+	private final String username;
+	private final String fullName;
+	private User user;
+
+	public CommittedUser(String username, String fullName) {
+		this.username = username;
+		this.fullName = fullName;
+	}
+
+	public User get() {
+		return user;
+	}
+
+	public Long getId() {
+		return user.getId();
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		user = userService(context).createUser(new User(username, username + "@example.com", fullName));
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		if (user != null) {
+			userService(context).deleteUser(user.getId());
+			user = null;
+		}
+	}
+
+	private static UserService userService(ExtensionContext context) {
+		return SpringExtension.getApplicationContext(context).getBean(UserService.class);
+	}
+
+}
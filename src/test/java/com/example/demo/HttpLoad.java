@@ -0,0 +1,103 @@
+package com.example.demo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Closed-loop GET load for the HTTP benchmarks: each client sends one request at a time on its
+// own keep-alive connection until the duration is up. Any status other than 200 counts as an error.
+public final class HttpLoad {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private HttpLoad() {
+	}
+
+	public record Result(long[] latencies, long errors, Duration duration) {
+
+		public int requests() {
+			return latencies.length;
+		}
+
+		public long perSecond() {
+			return latencies.length / duration.toSeconds();
+		}
+
+		public double percentileMillis(double p) {
+			int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+			return millis(latencies[Math.max(index, 0)]);
+		}
+	}
+
+	// path picks the next request's path for a client from its random source
+	public static Result run(URI base, int clients, Duration duration, Function<ThreadLocalRandom, String> path)
+			throws Exception {
+		long until = System.nanoTime() + duration.toNanos();
+		AtomicLong errors = new AtomicLong();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+			 HttpClient http = HttpClient.newBuilder()
+					 .version(HttpClient.Version.HTTP_1_1)
+					 .executor(executor)
+					 .connectTimeout(TIMEOUT)
+					 .build()) {
+			List<Callable<long[]>> tasks = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				tasks.add(() -> client(http, base, path, until, errors));
+			}
+			List<long[]> samples = new ArrayList<>(clients);
+			for (Future<long[]> result : executor.invokeAll(tasks)) {
+				samples.add(result.get());
+			}
+			long[] latencies = samples.stream().flatMapToLong(Arrays::stream).toArray();
+			Arrays.sort(latencies);
+			return new Result(latencies, errors.get(), duration);
+		}
+	}
+
+	public static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	// Latency in nanos of every request the client sent
+	private static long[] client(HttpClient http, URI base, Function<ThreadLocalRandom, String> path,
+			long until, AtomicLong errors) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] latencies = new long[256];
+		int count = 0;
+		while (System.nanoTime() < until) {
+			HttpRequest request = HttpRequest.newBuilder(base.resolve(path.apply(random))).timeout(TIMEOUT).build();
+			long start = System.nanoTime();
+			try {
+				HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() != 200) {
+					errors.incrementAndGet();
+				}
+			} catch (IOException e) {
+				errors.incrementAndGet();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = System.nanoTime() - start;
+		}
+		return Arrays.copyOf(latencies, count);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Serves the /tasks page from the same generated data set under the dev and the prod
+// profile and compares throughput and latency; the gap is SQL echo, template parsing,
+// pool and batch fetch settings. Run with ./gradlew benchmark
+@Tag("benchmark")
+class ProfileThroughputBenchmark {
+
+	private static final String[] PROFILES = {"dev", "prod"};
+	private static final int CLIENTS = 64;
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+	private static final String[] STATUSES = {"", "PENDING", "IN_PROGRESS", "COMPLETED"};
+
+	@Test
+	void tasksPageDevVersusProd() throws Exception {
+		List<String> rows = new ArrayList<>();
+		for (String profile : PROFILES) {
+			try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+					.profiles("generate", profile)
+					.properties("server.port=0",
+							"spring.datasource.url=jdbc:h2:mem:profile-" + profile,
+							"app.generator.users=200",
+							"app.generator.tasks=20000")
+					.run()) {
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				URI base = URI.create("http://localhost:" + port);
+
+				HttpLoad.run(base, CLIENTS, WARMUP, ProfileThroughputBenchmark::tasksPage);
+				HttpLoad.Result result = HttpLoad.run(base, CLIENTS, MEASUREMENT, ProfileThroughputBenchmark::tasksPage);
+
+				rows.add(String.format("%8s %12d %10d %10.1f %10.1f %10d", profile, result.requests(), result.perSecond(),
+						result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors()));
+			}
+		}
+
+		// Printed after both runs so the dev profile's SQL echo does not bury the results
+		System.out.printf("%8s %12s %10s %10s %10s %10s%n", "profile", "requests", "req/s", "p50 (ms)", "p99 (ms)", "errors");
+		rows.forEach(System.out::println);
+	}
+
+	// First pages of the task list, filtered by status or not, as people browse it
+	private static String tasksPage(ThreadLocalRandom random) {
+		return "/tasks?status=" + STATUSES[random.nextInt(STATUSES.length)] + "&page=" + random.nextInt(5) + "&size=20";
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.example.demo;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+// Starts the application once with Tomcat's platform thread pool and once with
+// spring.threads.virtual.enabled, and drives both with 5k concurrent keep-alive
+// connections over a mix of API reads. During the virtual-thread run it records JFR
+// jdk.VirtualThreadPinned events and lists the code that blocked while pinned to a
+// carrier, by innermost non-JDK frame. Run with ./gradlew benchmark
+@Tag("benchmark")
+class RequestExecutionBenchmark {
+
+	private static final String PINNED = "jdk.VirtualThreadPinned";
+	private static final int PINNED_SITES = 15;
+	private static final int CONNECTIONS = 5_000;
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+	@Test
+	void platformVersusVirtualThreads() throws Exception {
+		System.out.printf("%10s %12s %10s %10s %10s %10s%n", "threads", "requests", "req/s", "p50 (ms)", "p99 (ms)", "errors");
+		Map<String, long[]> pinnedSites = new HashMap<>();
+		for (boolean virtual : new boolean[] {false, true}) {
+			try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+					.properties("server.port=0",
+							"spring.threads.virtual.enabled=" + virtual,
+							"spring.datasource.url=jdbc:h2:mem:requests-" + virtual,
+							"spring.jpa.show-sql=false")
+					.run()) {
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				List<Long> taskIds = context.getBean(TaskRepository.class).findAll().stream().map(Task::getId).toList();
+				List<Long> userIds = context.getBean(UserRepository.class).findAll().stream().map(User::getId).toList();
+				URI base = URI.create("http://localhost:" + port);
+
+				Function<ThreadLocalRandom, String> paths = random -> switch (random.nextInt(4)) {
+					case 0 -> "/api/tasks/" + taskIds.get(random.nextInt(taskIds.size()));
+					case 1 -> "/api/tasks/user/" + userIds.get(random.nextInt(userIds.size()));
+					case 2 -> "/api/tasks/status/PENDING";
+					default -> "/api/users";
+				};
+				HttpLoad.run(base, CONNECTIONS, WARMUP, paths);
+				HttpLoad.Result result;
+				if (virtual) {
+					try (RecordingStream pinned = new RecordingStream()) {
+						pinned.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+						pinned.onEvent(PINNED, event -> recordPinned(pinnedSites, event));
+						pinned.startAsync();
+						result = HttpLoad.run(base, CONNECTIONS, MEASUREMENT, paths);
+						pinned.stop();
+					}
+				} else {
+					result = HttpLoad.run(base, CONNECTIONS, MEASUREMENT, paths);
+				}
+
+				System.out.printf("%10s %12d %10d %10.1f %10.1f %10d%n", virtual ? "virtual" : "platform",
+						result.requests(), result.perSecond(),
+						result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors());
+			}
+		}
+
+		System.out.printf("%nPinned while blocking (virtual threads)%n%8s %12s  %s%n", "events", "total (ms)", "site");
+		synchronized (pinnedSites) {
+			pinnedSites.entrySet().stream()
+					.sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+					.limit(PINNED_SITES)
+					.forEach(site -> System.out.printf("%8d %12.1f  %s%n",
+							site.getValue()[0], HttpLoad.millis(site.getValue()[1]), site.getKey()));
+		}
+	}
+
+	// Count and total pinned time per site, keyed by the innermost frame outside the JDK
+	private static void recordPinned(Map<String, long[]> sites, RecordedEvent event) {
+		String site = "(no stack trace)";
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		if (stackTrace != null) {
+			for (RecordedFrame frame : stackTrace.getFrames()) {
+				String type = frame.getMethod().getType().getName();
+				if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+					site = type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+					break;
+				}
+			}
+		}
+		synchronized (sites) {
+			long[] totals = sites.computeIfAbsent(site, key -> new long[2]);
+			totals[0]++;
+			totals[1] += event.getDuration().toNanos();
+		}
+	}
+
+}
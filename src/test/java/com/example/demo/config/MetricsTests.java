@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusScrapeHasServiceRepositoryAndStatementHistograms() throws Exception {
+		mockMvc.perform(get("/api/users")).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(scrape)
+				.contains("app_service_calls_seconds_bucket{")
+				.contains("service=\"UserService\"")
+				.contains("spring_data_repository_invocations_seconds_bucket{")
+				.contains("hikaricp_connections_acquire_seconds_bucket{")
+				.containsPattern("app_http_request_statements_count\\{[^}]*uri=\"/api/users\"");
+	}
+
+}
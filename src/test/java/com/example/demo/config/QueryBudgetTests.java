@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// In fail mode a request over its @QueryBudget throws, so these requests fail the build
+// when a change makes a budgeted endpoint run more statements than it declares
+@SpringBootTest(properties = "app.query-budget.mode=fail")
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Test
+	void budgetedEndpointsStayWithinTheirBudgets() throws Exception {
+		User user = userRepository.findAll().get(0);
+		Task task = taskRepository.findAll().get(0);
+
+		mockMvc.perform(get("/api/users")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/users/{id}", user.getId())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/tasks/{id}", task.getId())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/tasks/user/{userId}", user.getId())).andExpect(status().isOk());
+	}
+
+	@Test
+	void checkerFlagsStatementCountAndRepeatedStatements() {
+		QueryBudgetChecker checker = new QueryBudgetChecker(QueryBudgetChecker.Mode.FAIL, 3, Duration.ofSeconds(1), 2, 5);
+
+		RequestQueryTracker.RequestQueries withinBudget = new RequestQueryTracker.RequestQueries();
+		withinBudget.prepared("select * from users");
+		withinBudget.prepared("select * from tasks where user_id=?");
+		assertThatCode(() -> checker.check("GET /test", null, withinBudget)).doesNotThrowAnyException();
+
+		RequestQueryTracker.RequestQueries nPlusOne = new RequestQueryTracker.RequestQueries();
+		nPlusOne.prepared("select * from users");
+		for (int i = 0; i < 3; i++) {
+			nPlusOne.prepared("select * from tasks where user_id=?");
+		}
+		assertThatThrownBy(() -> checker.check("GET /test", null, nPlusOne))
+				.isInstanceOf(QueryBudgetExceededException.class)
+				.hasMessageContaining("statements 4 > 3")
+				.hasMessageContaining("repeated 3 times");
+	}
+
+}
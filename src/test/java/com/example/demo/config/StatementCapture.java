@@ -0,0 +1,25 @@
+package com.example.demo.config;
+
+import java.util.List;
+
+// Test access to the SQL Hibernate generates, as seen by RequestQueryTracker on the current thread
+public final class StatementCapture {
+
+	private StatementCapture() {
+	}
+
+	// Distinct statements the action prepared, most frequent first
+	public static List<String> capture(Runnable action) {
+		RequestQueryTracker.begin();
+		RequestQueryTracker.RequestQueries queries;
+		try {
+			action.run();
+		} finally {
+			queries = RequestQueryTracker.end();
+		}
+		return queries.getTopStatements(Integer.MAX_VALUE).stream()
+				.map(RequestQueryTracker.StatementStats::getSql)
+				.toList();
+	}
+
+}
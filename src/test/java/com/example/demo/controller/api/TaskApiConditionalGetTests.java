@@ -0,0 +1,76 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.CommittedUser;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskApiConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskService taskService;
+
+	@RegisterExtension
+	final CommittedUser user = new CommittedUser("etag_user", "ETag User");
+
+	private Task task;
+
+	@BeforeEach
+	void createTask() {
+		task = taskService.createTaskForUser(user.getId(), "Polled task", "Conditional GET fixture", TaskPriority.MEDIUM);
+	}
+
+	@Test
+	void taskIsNotModifiedUntilItChanges() throws Exception {
+		String eTag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS);
+
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void userTaskListChangesWhenATaskIsDeleted() throws Exception {
+		taskService.createTaskForUser(user.getId(), "Second task", null, TaskPriority.LOW);
+		String eTag = mockMvc.perform(get("/api/tasks/user/{userId}", user.getId()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/tasks/user/{userId}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		// Deleting does not raise MAX(updated_at); the count in the ETag still changes
+		taskService.deleteTask(task.getId());
+
+		mockMvc.perform(get("/api/tasks/user/{userId}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.example.demo.repository;
+
+import com.example.demo.config.StatementCapture;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls each filtered TaskRepository query, captures the SQL Hibernate runs for it and
+// fails if H2 plans a full scan of the tasks table for any of it. Whole-table reads
+// (findAll, the dashboard summary, counter reconciliation, search index rebuilds) scan
+// by design and are not listed.
+@SpringBootTest
+@Transactional
+class TaskIndexPlanTests {
+
+	private static final int USERS = 50;
+	private static final int TASKS_PER_USER = 40;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Long userId;
+
+	@BeforeEach
+	void seedTasks() {
+		TaskPriority[] priorities = TaskPriority.values();
+		List<Task> tasks = new ArrayList<>();
+		for (int u = 0; u < USERS; u++) {
+			User user = userRepository.save(new User("plan_user_" + u, "plan_user_" + u + "@example.com", "Plan User " + u));
+			userId = user.getId();
+			for (int t = 0; t < TASKS_PER_USER; t++) {
+				Task task = new Task("Plan task " + t, "Query plan fixture", priorities[t % priorities.length], user);
+				task.setDueDate(LocalDateTime.now().plusDays(t - TASKS_PER_USER / 2));
+				tasks.add(task);
+			}
+		}
+		taskRepository.saveAll(tasks);
+		entityManager.flush();
+	}
+
+	@Test
+	void filteredTaskQueriesUseAnIndex() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime later = now.plusDays(30);
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+		queries.put("findByUserId", () -> taskRepository.findByUserId(userId));
+		queries.put("findByStatus", () -> taskRepository.findByStatus(TaskStatus.PENDING));
+		queries.put("findByPriority", () -> taskRepository.findByPriority(TaskPriority.HIGH));
+		queries.put("findByUserIdAndStatus", () -> taskRepository.findByUserIdAndStatus(userId, TaskStatus.PENDING));
+		queries.put("countTasksByStatusForUser", () -> taskRepository.countTasksByStatusForUser(userId));
+		queries.put("findOverdueTasks", () -> taskRepository.findOverdueTasks(now));
+		queries.put("findTasksDueBetween", () -> taskRepository.findTasksDueBetween(now, later));
+		queries.put("findTaskDTOsByUserId", () -> taskRepository.findTaskDTOsByUserId(userId));
+		queries.put("findTaskDTOsByStatus", () -> taskRepository.findTaskDTOsByStatus(TaskStatus.PENDING));
+		queries.put("findTaskDTOsByPriority", () -> taskRepository.findTaskDTOsByPriority(TaskPriority.HIGH));
+		queries.put("findTaskDTOsByUserIdAndStatus",
+				() -> taskRepository.findTaskDTOsByUserIdAndStatus(userId, TaskStatus.PENDING));
+		queries.put("findTaskDTOsByUserIdAndPriority",
+				() -> taskRepository.findTaskDTOsByUserIdAndPriority(userId, TaskPriority.HIGH));
+		queries.put("findOverdueTaskDTOs", () -> taskRepository.findOverdueTaskDTOs(now));
+		queries.put("findTaskDTOsChangedBetween",
+				() -> taskRepository.findTaskDTOsChangedBetween(now, 0L, later, PageRequest.of(0, 500)));
+		queries.put("findTaskDTOsChangedBetweenForUser",
+				() -> taskRepository.findTaskDTOsChangedBetweenForUser(userId, now, 0L, later, PageRequest.of(0, 500)));
+		queries.put("getUserTasksVersion", () -> taskRepository.getUserTasksVersion(userId));
+		queries.put("findTaskDTOsAfter", () -> taskRepository.findTaskDTOsAfter(100L, PageRequest.of(0, 100)));
+
+		queries.forEach((method, query) -> {
+			// A query cache hit would run no SQL at all
+			entityManagerFactory.getCache().evictAll();
+			List<String> statements = StatementCapture.capture(query);
+			assertThat(statements).as("SQL run by %s", method).isNotEmpty();
+			for (String sql : statements) {
+				assertThat(explain(sql)).as("plan for %s: %s", method, sql).doesNotContainIgnoringCase("tasks.tableScan");
+			}
+		});
+	}
+
+	// Plain EXPLAIN only plans the statement, so its bind parameters can stay unset
+	private String explain(String sql) {
+		return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+				(ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : "");
+	}
+
+}
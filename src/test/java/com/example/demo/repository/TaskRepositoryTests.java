@@ -0,0 +1,90 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TaskRepositoryTests {
+
+	private static final int USERS = 10;
+	private static final int TASKS_PER_USER = 5;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seedTasks() {
+		for (int u = 0; u < USERS; u++) {
+			User user = userRepository.save(new User("n1_user_" + u, "n1_user_" + u + "@example.com", "N1 User " + u));
+			for (int t = 0; t < TASKS_PER_USER; t++) {
+				Task task = new Task("Seeded task " + t, "Statement count fixture", TaskPriority.HIGH, user);
+				task.setDueDate(LocalDateTime.now().minusDays(1));
+				taskRepository.save(task);
+			}
+		}
+		// Start from an empty persistence context so users are not served from the first-level cache
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findTaskDTOsByStatusUsesSingleStatement() {
+		List<TaskDTO> tasks = taskRepository.findTaskDTOsByStatus(TaskStatus.PENDING);
+
+		assertThat(tasks).hasSizeGreaterThanOrEqualTo(USERS * TASKS_PER_USER);
+		assertThat(tasks).allSatisfy(task -> assertThat(task.getUserFullName()).isNotBlank());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void findTaskDTOsByPriorityUsesSingleStatement() {
+		List<TaskDTO> tasks = taskRepository.findTaskDTOsByPriority(TaskPriority.HIGH);
+
+		assertThat(tasks).hasSizeGreaterThanOrEqualTo(USERS * TASKS_PER_USER);
+		assertThat(tasks).allSatisfy(task -> assertThat(task.getUserId()).isNotNull());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void findOverdueTaskDTOsUsesSingleStatement() {
+		List<TaskDTO> tasks = taskRepository.findOverdueTaskDTOs(LocalDateTime.now());
+
+		assertThat(tasks).hasSizeGreaterThanOrEqualTo(USERS * TASKS_PER_USER);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Compares hot task and user lookups and enum-filtered lists with the second-level
+// and query caches emptied before every call (each read goes to the database) against
+// warm caches, and reports cache hit ratios. List queries go straight to TaskRepository
+// so the Spring cache in front of TaskService cannot answer them. Run with ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest
+class SecondLevelCacheBenchmark {
+
+	private static final int USERS = 100;
+	private static final int TASKS_PER_USER = 50;
+	private static final int HOT_TASKS = 200;
+	private static final int LOOKUPS = 5_000;
+	private static final int LIST_QUERIES = 200;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void cachedVersusUncachedReads() {
+		List<Long> taskIds = seed();
+		List<Long> userIds = userRepository.findAll().stream().map(User::getId).toList();
+		Random random = new Random(42);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		System.out.printf("%-24s %8s %12s %12s %10s%n", "workload", "caches", "p50 (us)", "p99 (us)", "hit ratio");
+		for (boolean warm : new boolean[] {false, true}) {
+			run("task findById", warm, LOOKUPS, statistics, i ->
+					taskService.findById(taskIds.get(random.nextInt(HOT_TASKS))));
+			run("user findById", warm, LOOKUPS, statistics, i ->
+					userRepository.findById(userIds.get(random.nextInt(userIds.size()))));
+			run("tasks by status", warm, LIST_QUERIES, statistics, i ->
+					taskRepository.findByStatus(TaskStatus.values()[i % TaskStatus.values().length]));
+			run("task DTOs by priority", warm, LIST_QUERIES, statistics, i ->
+					taskRepository.findTaskDTOsByPriority(TaskPriority.values()[i % TaskPriority.values().length]));
+		}
+	}
+
+	private void run(String workload, boolean warm, int iterations, Statistics statistics, Consumer<Integer> read) {
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+		long[] nanos = new long[iterations];
+		for (int i = 0; i < iterations; i++) {
+			if (!warm) {
+				entityManagerFactory.getCache().evictAll();
+			}
+			long start = System.nanoTime();
+			read.accept(i);
+			nanos[i] = System.nanoTime() - start;
+		}
+
+		long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount();
+		long misses = statistics.getSecondLevelCacheMissCount() + statistics.getQueryCacheMissCount();
+		double hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+		Arrays.sort(nanos);
+		System.out.printf("%-24s %8s %12d %12d %10.2f%n", workload, warm ? "warm" : "evicted",
+				nanos[iterations / 2] / 1_000, nanos[iterations * 99 / 100] / 1_000, hitRatio);
+	}
+
+	private List<Long> seed() {
+		TaskPriority[] priorities = TaskPriority.values();
+		List<Task> tasks = new ArrayList<>();
+		for (int u = 0; u < USERS; u++) {
+			User user = userRepository.save(new User("l2_user_" + u, "l2_user_" + u + "@example.com", "Cache User " + u));
+			for (int t = 0; t < TASKS_PER_USER; t++) {
+				tasks.add(new Task("Cached task " + t, "Second-level cache fixture", priorities[t % priorities.length], user));
+			}
+		}
+		return taskRepository.saveAll(tasks).stream().map(Task::getId).toList();
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.CommittedUser;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cached TaskService reads must reflect committed writes, so no @Transactional here:
+// every service call commits and eviction runs after commit as in production
+@SpringBootTest
+class TaskCacheEvictionTests {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserService userService;
+
+	@RegisterExtension
+	final CommittedUser user = new CommittedUser("cache_user", "Cache User");
+
+	private Task task;
+
+	@BeforeEach
+	void createTask() {
+		task = taskService.createTaskForUser(user.getId(), "Cached task", "Eviction fixture", TaskPriority.HIGH);
+	}
+
+	@Test
+	void statusChangeMovesTaskBetweenCachedStatusLists() {
+		assertThat(ids(taskService.findDTOsByStatus(TaskStatus.PENDING))).contains(task.getId());
+		assertThat(ids(taskService.findDTOsByStatus(TaskStatus.COMPLETED))).doesNotContain(task.getId());
+
+		taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+
+		assertThat(ids(taskService.findDTOsByStatus(TaskStatus.PENDING))).doesNotContain(task.getId());
+		assertThat(ids(taskService.findDTOsByStatus(TaskStatus.COMPLETED))).contains(task.getId());
+	}
+
+	@Test
+	void priorityChangeEvictsBothPriorityLists() {
+		assertThat(ids(taskService.findDTOsByPriority(TaskPriority.HIGH))).contains(task.getId());
+		assertThat(ids(taskService.findDTOsByPriority(TaskPriority.LOW))).doesNotContain(task.getId());
+
+		taskService.updateTaskPriority(task.getId(), TaskPriority.LOW);
+
+		assertThat(ids(taskService.findDTOsByPriority(TaskPriority.HIGH))).doesNotContain(task.getId());
+		assertThat(ids(taskService.findDTOsByPriority(TaskPriority.LOW))).contains(task.getId());
+	}
+
+	@Test
+	void priorityChangeEvictsTheOwnersHighPriorityList() {
+		assertThat(ids(taskService.findHighPriorityTaskDTOsByUser(user.getId()))).containsExactly(task.getId());
+
+		taskService.updateTaskPriority(task.getId(), TaskPriority.LOW);
+
+		assertThat(taskService.findHighPriorityTaskDTOsByUser(user.getId())).isEmpty();
+	}
+
+	@Test
+	void bulkStatusChangeEvictsCachedStatusLists() {
+		assertThat(taskService.findDTOsByStatus(TaskStatus.PENDING)).anyMatch(dto -> dto.getId().equals(task.getId()));
+
+		taskService.updateStatusByFilter(user.getId(), TaskStatus.PENDING, TaskStatus.CANCELLED);
+
+		assertThat(taskService.findDTOsByStatus(TaskStatus.PENDING)).noneMatch(dto -> dto.getId().equals(task.getId()));
+		assertThat(taskService.findDTOsByStatus(TaskStatus.CANCELLED)).anyMatch(dto -> dto.getId().equals(task.getId()));
+	}
+
+	@Test
+	void userRenameEvictsListsHoldingTheUsersTasks() {
+		assertThat(taskService.findDTOsByStatus(TaskStatus.PENDING))
+				.anyMatch(dto -> dto.getId().equals(task.getId()) && dto.getUserFullName().equals("Cache User"));
+
+		User renamed = user.get();
+		renamed.setFullName("Renamed Cache User");
+		userService.updateUser(renamed);
+
+		assertThat(taskService.findDTOsByStatus(TaskStatus.PENDING))
+				.anyMatch(dto -> dto.getId().equals(task.getId()) && dto.getUserFullName().equals("Renamed Cache User"));
+	}
+
+	private static List<Long> ids(List<TaskDTO> tasks) {
+		return tasks.stream().map(TaskDTO::getId).toList();
+	}
+
+}
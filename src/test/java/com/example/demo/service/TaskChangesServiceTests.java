@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import com.example.demo.CommittedUser;
+import com.example.demo.dto.TaskChangesDTO;
+import com.example.demo.dto.TaskDTO;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// No settle window, so changes are visible to the feed as soon as they commit
+@SpringBootTest(properties = "app.task-changes.settle-window=0s")
+class TaskChangesServiceTests {
+
+	@Autowired
+	private TaskChangesService taskChangesService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@RegisterExtension
+	final CommittedUser user = new CommittedUser("changes_user", "Changes User");
+
+	private LocalDateTime start;
+
+	@BeforeEach
+	void markStart() {
+		start = LocalDateTime.now();
+	}
+
+	@Test
+	void feedReturnsUpdatesThenTombstones() {
+		Task task = taskService.createTaskForUser(user.getId(), "Synced task", null, TaskPriority.MEDIUM);
+
+		TaskChangesDTO first = taskChangesService.findChanges(start, null, user.getId(), 100);
+		assertThat(first.getUpdated()).extracting(TaskDTO::getId).containsExactly(task.getId());
+		assertThat(first.getDeleted()).isEmpty();
+		assertThat(first.isHasMore()).isFalse();
+
+		taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+		TaskChangesDTO second = taskChangesService.findChanges(first.getNextSince(), first.getNextAfterId(), user.getId(), 100);
+		assertThat(second.getUpdated()).extracting(TaskDTO::getStatus).containsExactly(TaskStatus.COMPLETED);
+
+		taskService.deleteTask(task.getId());
+		TaskChangesDTO third = taskChangesService.findChanges(second.getNextSince(), second.getNextAfterId(), user.getId(), 100);
+		assertThat(third.getUpdated()).isEmpty();
+		assertThat(third.getDeleted()).containsExactly(task.getId());
+	}
+
+	@Test
+	void deletionsArePagedWithTheSameCursor() {
+		for (int i = 0; i < 5; i++) {
+			Task task = taskService.createTaskForUser(user.getId(), "Deleted task " + i, null, TaskPriority.LOW);
+			taskService.deleteTask(task.getId());
+		}
+
+		TaskChangesDTO first = taskChangesService.findChanges(start, null, user.getId(), 3);
+		assertThat(first.getUpdated()).isEmpty();
+		assertThat(first.getDeleted()).hasSize(3);
+		assertThat(first.isHasMore()).isTrue();
+
+		TaskChangesDTO second = taskChangesService.findChanges(first.getNextSince(), first.getNextAfterId(), user.getId(), 3);
+		assertThat(second.getDeleted()).hasSize(2).doesNotContainAnyElementsOf(first.getDeleted());
+		assertThat(second.isHasMore()).isFalse();
+	}
+
+	@Test
+	void fullPageResumesAfterItsLastRow() {
+		for (int i = 0; i < 5; i++) {
+			taskService.createTaskForUser(user.getId(), "Paged task " + i, null, TaskPriority.LOW);
+		}
+
+		TaskChangesDTO first = taskChangesService.findChanges(start, null, user.getId(), 3);
+		assertThat(first.getUpdated()).hasSize(3);
+		assertThat(first.isHasMore()).isTrue();
+
+		TaskChangesDTO second = taskChangesService.findChanges(first.getNextSince(), first.getNextAfterId(), user.getId(), 3);
+		assertThat(second.getUpdated()).hasSize(2);
+		assertThat(second.isHasMore()).isFalse();
+		assertThat(second.getUpdated()).extracting(TaskDTO::getId)
+				.doesNotContainAnyElementsOf(first.getUpdated().stream().map(TaskDTO::getId).toList());
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Compares full-text index lookups with a LIKE '%term%'-style linear scan as the
+// number of tasks grows. Run with ./gradlew benchmark
+@Tag("benchmark")
+class TaskSearchIndexBenchmark {
+
+	private static final int[] TABLE_SIZES = {1_000, 10_000, 100_000, 500_000};
+	private static final int QUERIES = 200;
+	private static final int WORDS = 2_000;
+
+	@Test
+	void searchLatencyByTableSize() {
+		Random random = new Random(42);
+		String[] vocabulary = new String[WORDS];
+		for (int i = 0; i < WORDS; i++) {
+			vocabulary[i] = "word" + Integer.toString(i, 36);
+		}
+
+		System.out.printf("%10s %16s %16s%n", "tasks", "index p50 (us)", "scan p50 (us)");
+		for (int size : TABLE_SIZES) {
+			TaskSearchIndex index = new TaskSearchIndex(null, null);
+			List<String> titles = new ArrayList<>(size);
+			List<String> descriptions = new ArrayList<>(size);
+			for (int id = 1; id <= size; id++) {
+				String title = sentence(random, vocabulary, 4);
+				String description = sentence(random, vocabulary, 20);
+				titles.add(title);
+				descriptions.add(description);
+				index.add((long) id, (long) id % 100, title, description);
+			}
+			index.refresh();
+
+			long[] indexNanos = new long[QUERIES];
+			long[] scanNanos = new long[QUERIES];
+			for (int q = 0; q < QUERIES; q++) {
+				String term = vocabulary[random.nextInt(WORDS)];
+
+				long start = System.nanoTime();
+				index.search(term, 0, 20);
+				indexNanos[q] = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				linearScan(titles, descriptions, term);
+				scanNanos[q] = System.nanoTime() - start;
+			}
+
+			System.out.printf("%10d %16d %16d%n", size, median(indexNanos) / 1_000, median(scanNanos) / 1_000);
+		}
+	}
+
+	private static String sentence(Random random, String[] vocabulary, int words) {
+		StringBuilder sentence = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			sentence.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+		}
+		return sentence.toString();
+	}
+
+	// What LOWER(title) LIKE '%x%' OR LOWER(description) LIKE '%x%' does for every row
+	private static int linearScan(List<String> titles, List<String> descriptions, String term) {
+		int matches = 0;
+		for (int i = 0; i < titles.size(); i++) {
+			if (titles.get(i).toLowerCase(Locale.ROOT).contains(term)
+					|| descriptions.get(i).toLowerCase(Locale.ROOT).contains(term)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	private static long median(long[] samples) {
+		long[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+}
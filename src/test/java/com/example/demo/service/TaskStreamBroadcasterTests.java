@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TaskStreamEventDTO;
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskStreamBroadcasterTests {
+
+	private final TaskStreamBroadcaster broadcaster = new TaskStreamBroadcaster(2, Duration.ofMinutes(1));
+
+	@AfterEach
+	void close() {
+		broadcaster.close();
+	}
+
+	@Test
+	void subscribersOnlyReceiveTheirUsersTasks() throws Exception {
+		RecordingEmitter mine = new RecordingEmitter(null);
+		RecordingEmitter all = new RecordingEmitter(null);
+		TaskStreamBroadcaster.Subscriber mineSubscriber = broadcaster.register(1L, mine);
+		TaskStreamBroadcaster.Subscriber allSubscriber = broadcaster.register(null, all);
+
+		broadcaster.onTaskChanged(created(10L, 1L));
+		broadcaster.onTaskChanged(created(20L, 2L));
+		awaitIdle(mineSubscriber, allSubscriber);
+
+		assertThat(mine.events).containsExactly("created:10");
+		assertThat(all.events).containsExactlyInAnyOrder("created:10", "created:20");
+	}
+
+	@Test
+	void slowSubscriberCoalescesThenResyncsWhenItsBufferOverflows() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingEmitter slow = new RecordingEmitter(release);
+		TaskStreamBroadcaster.Subscriber subscriber = broadcaster.register(null, slow);
+
+		// First send blocks, so everything after it queues up
+		broadcaster.onTaskChanged(created(1L, 1L));
+		slow.awaitFirstSend();
+		broadcaster.onTaskChanged(created(2L, 1L));
+		broadcaster.onTaskChanged(completed(2L, 1L));
+		release.countDown();
+		awaitIdle(subscriber);
+		assertThat(slow.events).containsExactly("created:1", "created:2");
+
+		CountDownLatch blocked = new CountDownLatch(1);
+		slow.block(blocked);
+		broadcaster.onTaskChanged(created(3L, 1L));
+		slow.awaitFirstSend();
+		for (long taskId = 4; taskId <= 7; taskId++) {
+			broadcaster.onTaskChanged(created(taskId, 1L));
+		}
+		blocked.countDown();
+		awaitIdle(subscriber);
+		assertThat(slow.events).endsWith("created:3", TaskStreamBroadcaster.RESYNC);
+	}
+
+	private static TaskChangedEvent created(Long taskId, Long userId) {
+		return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, taskId, null, state(taskId, userId, TaskStatus.PENDING));
+	}
+
+	private static TaskChangedEvent completed(Long taskId, Long userId) {
+		return new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, taskId,
+				state(taskId, userId, TaskStatus.PENDING), state(taskId, userId, TaskStatus.COMPLETED));
+	}
+
+	private static TaskChangedEvent.TaskState state(Long taskId, Long userId, TaskStatus status) {
+		return new TaskChangedEvent.TaskState(taskId, userId, status, TaskPriority.MEDIUM, null, "Task " + taskId, null);
+	}
+
+	private static void awaitIdle(TaskStreamBroadcaster.Subscriber... subscribers) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		for (TaskStreamBroadcaster.Subscriber subscriber : subscribers) {
+			while (!subscriber.isIdle() && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+			assertThat(subscriber.isIdle()).isTrue();
+		}
+	}
+
+	// Records "name:taskId" for each event, optionally blocking the next send until released
+	static class RecordingEmitter extends SseEmitter {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+		private volatile CountDownLatch release;
+		private volatile CountDownLatch sending = new CountDownLatch(1);
+
+		RecordingEmitter(CountDownLatch release) {
+			this.release = release;
+		}
+
+		void block(CountDownLatch release) {
+			this.sending = new CountDownLatch(1);
+			this.release = release;
+		}
+
+		void awaitFirstSend() throws InterruptedException {
+			assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			CountDownLatch latch = release;
+			if (latch != null) {
+				release = null;
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Set<DataWithMediaType> parts = builder.build();
+			String text = parts.stream()
+					.map(part -> part.getData().toString())
+					.collect(Collectors.joining());
+			if (text.contains("event:" + TaskStreamBroadcaster.RESYNC)) {
+				events.add(TaskStreamBroadcaster.RESYNC);
+				return;
+			}
+			parts.stream()
+					.map(DataWithMediaType::getData)
+					.filter(TaskStreamEventDTO.class::isInstance)
+					.map(TaskStreamEventDTO.class::cast)
+					.forEach(change -> events.add(change.getType() + ":" + change.getTaskId()));
+		}
+	}
+
+}
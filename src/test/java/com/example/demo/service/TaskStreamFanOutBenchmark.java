@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TaskChangedEvent;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Fans task changes out to 10k stream subscribers whose sends take a simulated network
+// write time, with a share of them much slower than the rest, and reports publish cost,
+// how long subscribers take to drain, and how many slow ones were cut over to a resync.
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+class TaskStreamFanOutBenchmark {
+
+	private static final int SUBSCRIBERS = 10_000;
+	private static final int USERS = 100;
+	private static final int EVENTS = 500;
+	private static final int BUFFER_SIZE = 256;
+	private static final long FAST_SEND_MICROS = 200;
+	private static final long SLOW_SEND_MICROS = 20_000;
+	private static final double[] SLOW_SHARES = {0.0, 0.01, 0.10};
+
+	@Test
+	void fanOutToTenThousandSubscribers() throws InterruptedException {
+		System.out.printf("%8s %8s %14s %14s %14s %12s %10s%n",
+				"slow %", "events", "publish (ms)", "drain p50 (ms)", "drain p99 (ms)", "sends", "resyncs");
+		for (double slowShare : SLOW_SHARES) {
+			run(slowShare);
+		}
+	}
+
+	private void run(double slowShare) throws InterruptedException {
+		TaskStreamBroadcaster broadcaster = new TaskStreamBroadcaster(BUFFER_SIZE, Duration.ofMinutes(10));
+		List<CountingEmitter> emitters = new ArrayList<>(SUBSCRIBERS);
+		List<TaskStreamBroadcaster.Subscriber> subscribers = new ArrayList<>(SUBSCRIBERS);
+		int slowEvery = slowShare > 0 ? (int) Math.round(1 / slowShare) : Integer.MAX_VALUE;
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			CountingEmitter emitter = new CountingEmitter(i % slowEvery == 0 ? SLOW_SEND_MICROS : FAST_SEND_MICROS);
+			emitters.add(emitter);
+			// Half the subscribers watch all tasks, the rest one user's tasks
+			subscribers.add(broadcaster.register(i % 2 == 0 ? null : (long) (i % USERS), emitter));
+		}
+
+		long start = System.nanoTime();
+		for (long taskId = 1; taskId <= EVENTS; taskId++) {
+			TaskChangedEvent.TaskState state = new TaskChangedEvent.TaskState(taskId, taskId % USERS,
+					TaskStatus.PENDING, TaskPriority.MEDIUM, null, "Task " + taskId, null);
+			broadcaster.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, taskId, null, state));
+		}
+		long publishNanos = System.nanoTime() - start;
+
+		for (TaskStreamBroadcaster.Subscriber subscriber : subscribers) {
+			while (!subscriber.isIdle()) {
+				Thread.sleep(1);
+			}
+		}
+
+		long[] drainNanos = new long[SUBSCRIBERS];
+		long sends = 0;
+		long resyncs = 0;
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			CountingEmitter emitter = emitters.get(i);
+			drainNanos[i] = emitter.lastSendNanos - start;
+			sends += emitter.sends;
+			resyncs += emitter.resyncs;
+		}
+		Arrays.sort(drainNanos);
+		System.out.printf("%8.0f %8d %14d %14d %14d %12d %10d%n", slowShare * 100, EVENTS,
+				TimeUnit.NANOSECONDS.toMillis(publishNanos),
+				TimeUnit.NANOSECONDS.toMillis(drainNanos[SUBSCRIBERS / 2]),
+				TimeUnit.NANOSECONDS.toMillis(drainNanos[SUBSCRIBERS * 99 / 100]),
+				sends, resyncs);
+		broadcaster.close();
+	}
+
+	// Parks for a fixed time per event, as a blocking socket write would, and counts sends
+	static class CountingEmitter extends SseEmitter {
+
+		private final long sendMicros;
+		private volatile long sends;
+		private volatile long resyncs;
+		private volatile long lastSendNanos;
+
+		CountingEmitter(long sendMicros) {
+			this.sendMicros = sendMicros;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(sendMicros));
+			for (DataWithMediaType part : builder.build()) {
+				if (part.getData() instanceof String text && text.contains("event:" + TaskStreamBroadcaster.RESYNC)) {
+					resyncs++;
+				}
+			}
+			sends++;
+			lastSendNanos = System.nanoTime();
+		}
+	}
+
+}